@@ -0,0 +1,59 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package bench;
+
+import core.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for saving schedules as binary snapshots and restoring them,
+ * to compare against {@link JsonBenchmark}. Snapshots are kept in memory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryBenchmark
+{
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    private Schedule schedule;
+    private byte[] snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        schedule = ScheduleGenerator.generate(taskCount);
+        snapshot = exportBinary();
+    }
+
+    @Benchmark
+    public byte[] exportBinary() throws IOException
+    {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExportBinary.export(schedule, output);
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public Schedule importBinary() throws IOException
+    {
+        return ImportBinary.importing(new ByteArrayInputStream(snapshot));
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package bench;
+
+import core.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks for a schedule shared between threads, with readers viewing
+ * a month of the agenda while writers add and remove tasks on their own dates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentScheduleBenchmark
+{
+    @Param({"10000"})
+    public int taskCount;
+
+    private ConcurrentSchedule schedule;
+    private Date middleDate;
+    private final AtomicInteger writers = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        schedule = new ConcurrentSchedule(ScheduleGenerator.generate(taskCount));
+        middleDate = ScheduleGenerator.BASE_DATE.plusDays(ScheduleGenerator.getSpanDays(taskCount) / 2);
+    }
+
+    /**
+     * A transient task on a date only one writer uses.
+     */
+    @State(Scope.Thread)
+    public static class WriterState
+    {
+        TransientTask transientTask;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentScheduleBenchmark benchmark)
+        {
+            // 20:00 to 24:00 is left free on every day by the generator.
+            transientTask = new TransientTask("Added Transient", "Visit", new Timeframe(1260, 60),
+                                              benchmark.middleDate.plusDays(benchmark.writers.getAndIncrement()));
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public List<AgendaEntry> getAgendaMonth()
+    {
+        return schedule.getAgenda(middleDate, middleDate.plusDays(30));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void addTransientTask(WriterState state)
+    {
+        schedule.addTask(state.transientTask);
+        schedule.removeTask(state.transientTask);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addTransientTaskFromFourThreads(WriterState state)
+    {
+        schedule.addTask(state.transientTask);
+        schedule.removeTask(state.transientTask);
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package bench;
+
+import core.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for exporting schedules to JSON and importing them back.
+ * Text is kept in memory so the results measure parsing, writing and
+ * scheduling rather than disk speed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark
+{
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    @Param({"true", "false"})
+    public boolean prettyPrinting;
+
+    private Schedule schedule;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        schedule = ScheduleGenerator.generate(taskCount);
+        json = exportJson();
+    }
+
+    @Benchmark
+    public String exportJson() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        ExportJson.export(schedule, writer, prettyPrinting);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public Schedule importJson() throws IOException
+    {
+        Schedule imported = new Schedule();
+        ImportJson.importing(new StringReader(json), imported);
+        return imported;
+    }
+
+    @Benchmark
+    public Schedule roundTrip() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        ExportJson.export(schedule, writer, prettyPrinting);
+        Schedule imported = new Schedule();
+        ImportJson.importing(new StringReader(writer.toString()), imported);
+        return imported;
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package bench;
+
+import core.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for querying a schedule kept in a memory-mapped store file,
+ * from opening the file to answering a single day.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedScheduleStoreBenchmark
+{
+    @Param({"10000", "100000"})
+    public int taskCount;
+
+    private File storeFile;
+    private MappedScheduleStore store;
+    private Date middleDate;
+    private Timeframe freeTimeframe;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        storeFile = File.createTempFile("schedule", ".store");
+        MappedScheduleStore.write(ScheduleGenerator.generate(taskCount), storeFile);
+        store = MappedScheduleStore.open(storeFile);
+        middleDate = ScheduleGenerator.BASE_DATE.plusDays(ScheduleGenerator.getSpanDays(taskCount) / 2);
+        // 20:00 to 24:00 is left free on every day by the generator.
+        freeTimeframe = new Timeframe(1260, 60);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        storeFile.delete();
+    }
+
+    @Benchmark
+    public Set<Task> openAndGetDailyTasks() throws IOException
+    {
+        return MappedScheduleStore.open(storeFile).getDailyTasks(middleDate);
+    }
+
+    @Benchmark
+    public Set<Task> getDailyTasks()
+    {
+        return store.getDailyTasks(middleDate);
+    }
+
+    @Benchmark
+    public boolean isFree()
+    {
+        return store.isFree(middleDate, freeTimeframe);
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package bench;
+
+import core.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for adding, removing and querying tasks on schedules of different sizes.
+ * Tasks added by a benchmark are removed again in the same invocation so the schedule
+ * stays the same size, which means the add benchmarks also include the removal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark
+{
+    @Param({"1000", "10000", "100000"})
+    public int taskCount;
+
+    private Schedule schedule;
+    private Schedule incomingSchedule;
+    private List<Task> incomingTasks;
+    private TransientTask transientTask;
+    private RecurringTask recurringTask;
+    private AntiTask antiTask;
+    private Date middleDate;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        schedule = ScheduleGenerator.generate(taskCount);
+        int spanDays = ScheduleGenerator.getSpanDays(taskCount);
+        middleDate = ScheduleGenerator.BASE_DATE.plusDays(spanDays / 2);
+        incomingSchedule = ScheduleGenerator.generate(100, ScheduleGenerator.BASE_DATE.plusDays(spanDays + 7));
+        incomingTasks = new ArrayList<>(incomingSchedule.getRecurringTasks());
+        incomingTasks.addAll(incomingSchedule.getTransientTasks());
+
+        // 20:00 to 24:00 is left free on every day by the generator.
+        transientTask = new TransientTask("Added Transient", "Visit", new Timeframe(1260, 60), middleDate);
+        recurringTask = new RecurringTask("Added Recurring", "Study", new Timeframe(1320, 60),
+                                          middleDate, middleDate.plusDays(30), TaskFrequency.DAILY);
+        // The second recurring task is never cancelled by the generator.
+        RecurringTask cancelledTask = schedule.getRecurringTask("Recurring 1");
+        antiTask = new AntiTask("Added Anti-Task", cancelledTask.getGeneralTimeframe(),
+                                cancelledTask.getStartingDate());
+    }
+
+    @Benchmark
+    public void addTransientTask()
+    {
+        schedule.addTask(transientTask);
+        schedule.removeTask(transientTask);
+    }
+
+    @Benchmark
+    public void addRecurringTask()
+    {
+        schedule.addTask(recurringTask);
+        schedule.removeTask(recurringTask);
+    }
+
+    @Benchmark
+    public void addAndRemoveAntiTask()
+    {
+        schedule.addTask(antiTask);
+        schedule.removeTask(antiTask);
+    }
+
+    @Benchmark
+    public void getDailyTasksMonth(Blackhole blackhole)
+    {
+        viewDays(middleDate, 31, blackhole);
+    }
+
+    @Benchmark
+    public void getDailyTasksYear(Blackhole blackhole)
+    {
+        viewDays(middleDate, 365, blackhole);
+    }
+
+    @Benchmark
+    public List<AgendaEntry> getAgendaMonth()
+    {
+        return schedule.getAgenda(middleDate, middleDate.plusDays(30));
+    }
+
+    @Benchmark
+    public List<AgendaEntry> getAgendaYear()
+    {
+        return schedule.getAgenda(middleDate, middleDate.plusDays(364));
+    }
+
+    @Benchmark
+    public List<FreeSlot> findFreeSlotsInEveningWindow()
+    {
+        return schedule.findFreeSlots(middleDate, middleDate.plusDays(364), 60, new Timeframe(1200, 240), 100);
+    }
+
+    @Benchmark
+    public Task getTaskByName()
+    {
+        // Anti-tasks are checked last, so this is the slowest lookup.
+        return schedule.getTask("Cancel 0");
+    }
+
+    @Benchmark
+    public SortedSet<String> getTaskNamesStartingWith()
+    {
+        return schedule.getTaskNamesStartingWith("Transient 12");
+    }
+
+    @Benchmark
+    public Schedule copyAndAddTransientTask()
+    {
+        Schedule copy = new Schedule(schedule);
+        copy.addTask(transientTask);
+        return copy;
+    }
+
+    @Benchmark
+    public Schedule merge()
+    {
+        return schedule.merge(incomingSchedule);
+    }
+
+    @Benchmark
+    public Schedule addTasks()
+    {
+        Schedule copy = new Schedule(schedule);
+        copy.addTasks(incomingTasks);
+        return copy;
+    }
+
+    /**
+     * Reads every task and timeframe over a number of days the same way the calendar views do.
+     * @param from The first day to view.
+     * @param days The number of days to view.
+     * @param blackhole Consumes the results.
+     */
+    private void viewDays(Date from, int days, Blackhole blackhole)
+    {
+        Date currentDate = from;
+        for (int i = 0; i < days; i++)
+        {
+            Set<Task> dailyTasks = schedule.getDailyTasks(currentDate);
+            if (dailyTasks != null)
+            {
+                for (Task task : dailyTasks)
+                    blackhole.consume(task.getDailyTimeframes(currentDate));
+            }
+            currentDate = currentDate.getNextDay();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package bench;
+
+import core.*;
+
+/**
+ * Builds deterministic, conflict-free schedules of a given size for benchmarking.
+ * A fifth of the tasks are weekly recurring tasks between 00:00 and 12:00, a tenth of those
+ * have their first occurence cancelled by an anti-task, and the rest are transient tasks
+ * between 12:00 and 20:00. Every day keeps 20:00 to 24:00 free for tasks added by the benchmarks.
+ */
+public class ScheduleGenerator
+{
+    public static final Date BASE_DATE = new Date(1, 6, 2020);
+
+    private static final int RECURRING_SLOTS = 48;
+    private static final int TRANSIENT_SLOTS = 32;
+    private static final int BLOCK_DAYS = 28;
+
+    /**
+     * Generates a schedule starting on the base date.
+     * @param taskCount The total number of tasks, including anti-tasks.
+     * @return A new schedule with the given number of tasks.
+     */
+    public static Schedule generate(int taskCount)
+    {
+        return generate(taskCount, BASE_DATE);
+    }
+
+    /**
+     * Generates a schedule starting on a given date.
+     * @param taskCount The total number of tasks, including anti-tasks.
+     * @param baseDate The first date of the schedule.
+     * @return A new schedule with the given number of tasks.
+     */
+    public static Schedule generate(int taskCount, Date baseDate)
+    {
+        Schedule schedule = new Schedule();
+        int recurringCount = getRecurringCount(taskCount);
+        int antiCount = recurringCount / 10;
+        int transientCount = taskCount - recurringCount - antiCount;
+        for (int i = 0; i < recurringCount; i++)
+        {
+            RecurringTask task = createRecurringTask(i, baseDate);
+            schedule.addTask(task);
+            if (i % 10 == 0 && i / 10 < antiCount)
+                schedule.addTask(new AntiTask("Cancel " + i, task.getGeneralTimeframe(), task.getStartingDate()));
+        }
+        for (int i = 0; i < transientCount; i++)
+        {
+            Timeframe timeframe = new Timeframe(720 + (i % TRANSIENT_SLOTS) * 15, 15);
+            schedule.addTask(new TransientTask("Transient " + i, "Appointment", timeframe,
+                                               baseDate.plusDays(i / TRANSIENT_SLOTS)));
+        }
+        return schedule;
+    }
+
+    /**
+     * Gets the number of days covered by a generated schedule.
+     * @param taskCount The total number of tasks, including anti-tasks.
+     * @return The number of days from the base date to the last task.
+     */
+    public static int getSpanDays(int taskCount)
+    {
+        int recurringCount = getRecurringCount(taskCount);
+        int transientCount = taskCount - recurringCount - recurringCount / 10;
+        int recurringDays = (recurringCount / (RECURRING_SLOTS * 7) + 1) * BLOCK_DAYS;
+        int transientDays = transientCount / TRANSIENT_SLOTS + 1;
+        return Math.max(recurringDays, transientDays);
+    }
+
+    /**
+     * Creates the recurring task with a given index.
+     * Tasks take one 15 minute slot on one weekday for four weeks,
+     * and each block of four weeks holds every slot on every weekday once.
+     * @param index The index of the recurring task.
+     * @param baseDate The first date of the schedule.
+     * @return The recurring task.
+     */
+    private static RecurringTask createRecurringTask(int index, Date baseDate)
+    {
+        Timeframe timeframe = new Timeframe((index % RECURRING_SLOTS) * 15, 15);
+        int weekday = (index / RECURRING_SLOTS) % 7;
+        int block = index / (RECURRING_SLOTS * 7);
+        Date startingDate = baseDate.plusDays(block * BLOCK_DAYS + weekday);
+        return new RecurringTask("Recurring " + index, "Work", timeframe, startingDate,
+                                 startingDate.plusDays(BLOCK_DAYS - 7), TaskFrequency.WEEKLY);
+    }
+
+    /**
+     * Gets the number of recurring tasks in a generated schedule.
+     * @param taskCount The total number of tasks, including anti-tasks.
+     * @return The number of recurring tasks.
+     */
+    private static int getRecurringCount(int taskCount)
+    {
+        return taskCount / 5;
+    }
+}
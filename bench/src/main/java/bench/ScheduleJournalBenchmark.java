@@ -0,0 +1,67 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package bench;
+
+import core.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for saving single changes to a journal, including forcing them to disk,
+ * to compare against rewriting the whole schedule in {@link JsonBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleJournalBenchmark
+{
+    @Param({"10000"})
+    public int taskCount;
+
+    private File directory;
+    private ScheduleJournal journal;
+    private TransientTask transientTask;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("journal").toFile();
+        journal = ScheduleJournal.open(directory);
+        journal.merge(ScheduleGenerator.generate(taskCount));
+        journal.checkpoint();
+        // 20:00 to 24:00 is left free on every day by the generator.
+        Date middleDate = ScheduleGenerator.BASE_DATE.plusDays(ScheduleGenerator.getSpanDays(taskCount) / 2);
+        transientTask = new TransientTask("Added Transient", "Visit", new Timeframe(1260, 60), middleDate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        journal.close();
+        for (File file : directory.listFiles())
+            file.delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public void addAndRemoveTransientTask() throws IOException
+    {
+        journal.addTask(transientTask);
+        journal.removeTask(transientTask);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+/**
+ * A single timeframe a task occupies on a specific date.
+ * Tasks extending into the next day appear once on each day,
+ * with the timeframe restricted to that day.
+ */
+public final class AgendaEntry
+{
+    private final Date date;
+    private final Timeframe timeframe;
+    private final Task task;
+
+    /**
+     * Initializes an agenda entry.
+     * @param date The date of the entry.
+     * @param timeframe The timeframe the task occupies on that date.
+     * @param task The task occupying the timeframe.
+     */
+    AgendaEntry(Date date, Timeframe timeframe, Task task)
+    {
+        this.date = date;
+        this.timeframe = timeframe;
+        this.task = task;
+    }
+
+    /**
+     * Gets the date of the entry.
+     * @return The date of the entry.
+     */
+    public Date getDate()
+    {
+        return date;
+    }
+
+    /**
+     * Gets the timeframe the task occupies on the entry's date.
+     * @return The timeframe of the entry.
+     */
+    public Timeframe getTimeframe()
+    {
+        return timeframe;
+    }
+
+    /**
+     * Gets the task occupying the entry's timeframe.
+     * @return The task of the entry.
+     */
+    public Task getTask()
+    {
+        return task;
+    }
+
+    /**
+     * Gets a string with a textual representation of the entry.
+     * @return A string representing the entry.
+     */
+    @Override
+    public String toString()
+    {
+        return date + " " + timeframe + ": " + task.getTaskName();
+    }
+}
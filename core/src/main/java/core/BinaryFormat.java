@@ -0,0 +1,200 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The constants and encodings shared by the binary schedule snapshot writer and reader.
+ * <p>
+ * A snapshot starts with {@link #MAGIC} and the format version, followed by a table of every
+ * task name and category, then the recurring tasks, the anti-tasks and the transient tasks.
+ * Names and categories are written as indexes into the table, dates as days since the epoch
+ * and times as indexes of 15 minute slots, all as variable-length integers.
+ */
+final class BinaryFormat
+{
+    // "SCHD"
+    static final int MAGIC = 0x53434844;
+    static final int VERSION = 1;
+
+    static final int MINUTES_PER_SLOT = 15;
+
+    // The Most Bytes Of A String Allocated Before They Are Known To Be There
+    private static final int STRING_CHUNK = 8192;
+
+    private BinaryFormat()
+    {
+    }
+
+    /**
+     * Writes a non-negative integer in as few bytes as possible, 7 bits per byte,
+     * with the high bit of each byte set while more bytes follow.
+     * @param output The output to write to.
+     * @param value The value to write.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void writeVarInt(DataOutput output, int value) throws IOException
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Writes an integer that may be negative, mapping small negative values to small codes.
+     * @param output The output to write to.
+     * @param value The value to write.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void writeSignedVarInt(DataOutput output, int value) throws IOException
+    {
+        writeVarInt(output, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 bytes.
+     * @param output The output to write to.
+     * @param value The string to write.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void writeString(DataOutput output, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Writes a timeframe as its starting slot and its length in slots.
+     * @param output The output to write to.
+     * @param timeframe The timeframe to write.
+     * @throws IOException If the output cannot be written to.
+     */
+    static void writeTimeframe(DataOutput output, Timeframe timeframe) throws IOException
+    {
+        writeVarInt(output, timeframe.getStartingTime() / MINUTES_PER_SLOT);
+        writeVarInt(output, timeframe.getDuration() / MINUTES_PER_SLOT);
+    }
+
+    /**
+     * Reads an integer written by {@link #writeVarInt}.
+     * @param input The input to read from.
+     * @return The value read.
+     * @throws IOException If the input ends early or the value is too long.
+     */
+    static int readVarInt(DataInput input) throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7)
+        {
+            byte next = input.readByte();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0)
+                return value;
+        }
+        throw new IOException("Malformed variable-length integer in schedule snapshot.");
+    }
+
+    /**
+     * Reads an integer written by {@link #writeSignedVarInt}.
+     * @param input The input to read from.
+     * @return The value read.
+     * @throws IOException If the input ends early or the value is too long.
+     */
+    static int readSignedVarInt(DataInput input) throws IOException
+    {
+        int code = readVarInt(input);
+        return (code >>> 1) ^ -(code & 1);
+    }
+
+    /**
+     * Reads the number of bytes or elements that follow.
+     * The length is not checked against what is left of the input, so it must not be used to allocate
+     * more than is read right away.
+     * @param input The input to read from.
+     * @return The length read.
+     * @throws IOException If the input ends early or the length is negative.
+     */
+    static int readLength(DataInput input) throws IOException
+    {
+        int length = readVarInt(input);
+        if (length < 0)
+            throw new IOException("Invalid length " + length + " in schedule snapshot.");
+        return length;
+    }
+
+    /**
+     * Reads a string written by {@link #writeString}.
+     * Long strings are read a chunk at a time, so a corrupt length fails once the input ends
+     * instead of allocating the whole length up front.
+     * @param input The input to read from.
+     * @return The string read.
+     * @throws IOException If the input ends early or the length is invalid.
+     */
+    static String readString(DataInput input) throws IOException
+    {
+        int length = readLength(input);
+        byte[] bytes = new byte[Math.min(length, STRING_CHUNK)];
+        input.readFully(bytes);
+        while (bytes.length < length)
+        {
+            int read = bytes.length;
+            bytes = Arrays.copyOf(bytes, read + Math.min(length - read, read));
+            input.readFully(bytes, read, bytes.length - read);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the frequency of a recurring task written as its number of days.
+     * Unlike {@link TaskFrequency#getFrequency}, unknown values are rejected rather than read as monthly.
+     * @param input The input to read from.
+     * @return The frequency read.
+     * @throws IOException If the input ends early or the frequency is unknown.
+     */
+    static TaskFrequency readFrequency(DataInput input) throws IOException
+    {
+        int days = readVarInt(input);
+        for (TaskFrequency frequency : TaskFrequency.values())
+        {
+            if (frequency.getValue() == days)
+                return frequency;
+        }
+        throw new IOException("Unknown task frequency " + days + " in schedule snapshot.");
+    }
+
+    /**
+     * Reads a timeframe written by {@link #writeTimeframe}.
+     * @param input The input to read from.
+     * @return The timeframe read.
+     * @throws IOException If the input ends early or the timeframe is out of range.
+     */
+    static Timeframe readTimeframe(DataInput input) throws IOException
+    {
+        int startingSlot = readVarInt(input);
+        int durationSlots = readVarInt(input);
+        try
+        {
+            return new Timeframe(startingSlot * MINUTES_PER_SLOT, durationSlots * MINUTES_PER_SLOT);
+        }
+        catch (InvalidTimeframeException e)
+        {
+            throw new IOException("Invalid timeframe in schedule snapshot.", e);
+        }
+    }
+}
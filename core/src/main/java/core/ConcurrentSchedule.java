@@ -0,0 +1,437 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A schedule that can be shared between threads.
+ * Every change is made on a copy of the current schedule, which shares all untouched structure,
+ * and the copy is then published in place of the current one. Reads never lock
+ * and always see a complete version of the schedule.
+ * Changes only lock the dates they touch, hashed onto a fixed number of stripes,
+ * so changes on different dates run in parallel. If another change was published in the meantime,
+ * the touched dates are replayed onto the newer version instead of redoing the change.
+ * Anti-tasks of the same recurring task may touch different dates, so changes to them
+ * also lock the recurring task they cancel.
+ * Versions share their task objects, so a recurring task reached from an older version lists
+ * the anti-tasks of the latest one, while the calendar of every version stays as it was published.
+ */
+public class ConcurrentSchedule
+{
+    private static final int STRIPES = 64;
+
+    // The Current Version, Whose Calendar Is Never Changed Once Published
+    private final AtomicReference<Schedule> published;
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Initializes an empty concurrent schedule.
+     */
+    public ConcurrentSchedule()
+    {
+        this(new Schedule());
+    }
+
+    /**
+     * Initializes a concurrent schedule with the tasks of an existing schedule.
+     * Later changes to the existing schedule do not affect this one.
+     *
+     * @param existingSchedule The schedule to start from.
+     */
+    public ConcurrentSchedule(Schedule existingSchedule)
+    {
+        published = new AtomicReference<>(new Schedule(existingSchedule));
+        stripes = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+            stripes[i] = new ReentrantLock();
+    }
+
+    /**
+     * Adds a transient task to the schedule.
+     *
+     * @param newTask The transient task to add to the schedule.
+     * @throws TaskConflictException If an existing task conflicts with the one being added.
+     */
+    public void addTask(TransientTask newTask)
+    {
+        change(newTask, true);
+    }
+
+    /**
+     * Adds a recurring task to the schedule, either on every one of its dates or on none of them.
+     *
+     * @param newTask The recurring task to add to the schedule.
+     * @throws TaskConflictException If an existing task conflicts with the one being added.
+     */
+    public void addTask(RecurringTask newTask)
+    {
+        change(newTask, true);
+    }
+
+    /**
+     * Adds a anti-task task.
+     *
+     * @param newTask The anti-task to add.
+     * @throws InvalidTaskException If the anti-task does not properly correspond to a recurring task.
+     */
+    public void addTask(AntiTask newTask)
+    {
+        change(newTask, true);
+    }
+
+    /**
+     * Removes a transient task from the schedule.
+     *
+     * @param removeTask The transient task to remove from the schedule.
+     */
+    public void removeTask(TransientTask removeTask)
+    {
+        change(removeTask, false);
+    }
+
+    /**
+     * Removes a recurring task and its anti-tasks from the schedule.
+     *
+     * @param removeTask The recurring task to remove from the schedule.
+     */
+    public void removeTask(RecurringTask removeTask)
+    {
+        change(removeTask, false);
+    }
+
+    /**
+     * Removes an anti-task, restoring the occurence it cancelled.
+     *
+     * @param removeTask The anti-task to remove.
+     * @throws TaskConflictException If the anti-task removal would cause task conflicts.
+     */
+    public void removeTask(AntiTask removeTask)
+    {
+        change(removeTask, false);
+    }
+
+    /**
+     * Adds or removes a task while holding the locks of every date it touches,
+     * then publishes the changed schedule.
+     *
+     * @param task The task to add or remove.
+     * @param adding True to add the task, false to remove it.
+     */
+    private void change(Task task, boolean adding)
+    {
+        BitSet locked = lockStripes(task);
+        try
+        {
+            RecurringTask recurringTask = getRecurringTask(task, adding);
+            if (recurringTask == null)
+                apply(task, adding);
+            else
+            {
+                // Anti-tasks of one recurring task may lock different stripes but change the same task.
+                synchronized (recurringTask)
+                {
+                    apply(task, adding);
+                }
+            }
+        }
+        finally
+        {
+            for (int i = locked.nextSetBit(0); i >= 0; i = locked.nextSetBit(i + 1))
+                stripes[i].unlock();
+        }
+    }
+
+    /**
+     * Adds or removes a task on a copy of the current version, then publishes the copy,
+     * replaying the touched dates onto any version published in the meantime.
+     *
+     * @param task The task to add or remove.
+     * @param adding True to add the task, false to remove it.
+     */
+    private void apply(Task task, boolean adding)
+    {
+        List<Date> dates = getTouchedDates(task);
+        List<Task> changedTasks = new ArrayList<>();
+        changedTasks.add(task);
+        // Removing a recurring task removes its anti-tasks as well.
+        if (!adding && task instanceof RecurringTask)
+            changedTasks.addAll(((RecurringTask) task).getAntiTasks());
+
+        Schedule current = published.get();
+        Schedule changed = new Schedule(current);
+        if (adding)
+            addTo(changed, task);
+        else
+            removeFrom(changed, task);
+
+        Schedule next = changed;
+        while (!published.compareAndSet(current, next))
+        {
+            current = published.get();
+            next = new Schedule(current);
+            if (adding)
+                next.replay(changed, dates, changedTasks, Collections.emptyList());
+            else
+                next.replay(changed, dates, Collections.emptyList(), changedTasks);
+        }
+    }
+
+    /**
+     * Gets the recurring task whose anti-tasks a change updates.
+     * An anti-task being added cancels the recurring task scheduled at the same time on its date,
+     * which cannot be removed meanwhile since the date is locked.
+     *
+     * @param task The task to add or remove.
+     * @param adding True to add the task, false to remove it.
+     * @return The recurring task, or null if the change does not update any anti-tasks.
+     */
+    private RecurringTask getRecurringTask(Task task, boolean adding)
+    {
+        if (task instanceof RecurringTask)
+            return (RecurringTask) task;
+        if (!(task instanceof AntiTask))
+            return null;
+        AntiTask antiTask = (AntiTask) task;
+        if (!adding)
+            return antiTask.getCancelledTask();
+        Set<Task> dailyTasks = published.get().getDailyTasks(antiTask.getActiveDate());
+        if (dailyTasks == null)
+            return null;
+        for (Task dailyTask : dailyTasks)
+        {
+            if (dailyTask instanceof RecurringTask && ((RecurringTask) dailyTask).isScheduledOn(antiTask.getActiveDate())
+                && dailyTask.getGeneralTimeframe().equals(antiTask.getGeneralTimeframe()))
+                return (RecurringTask) dailyTask;
+        }
+        return null;
+    }
+
+    /**
+     * Locks the stripes of every date a task touches, in ascending order so changes cannot deadlock.
+     *
+     * @param task The task to lock the dates of.
+     * @return The stripes locked.
+     */
+    private BitSet lockStripes(Task task)
+    {
+        BitSet locked = new BitSet(STRIPES);
+        for (Date date : getTouchedDates(task))
+            locked.set(date.hashCode() & (STRIPES - 1));
+        for (int i = locked.nextSetBit(0); i >= 0; i = locked.nextSetBit(i + 1))
+            stripes[i].lock();
+        return locked;
+    }
+
+    /**
+     * Gets every date adding or removing a task may change.
+     * Anti-tasks change the date of the occurence they cancel and the following day,
+     * which the occurence may run into. Recurring tasks include the dates of cancelled
+     * occurences, so the dates do not change while other threads add or remove anti-tasks.
+     *
+     * @param task The task.
+     * @return The dates the task touches.
+     */
+    private static List<Date> getTouchedDates(Task task)
+    {
+        if (task instanceof RecurringTask)
+            return ((RecurringTask) task).getOccurenceDates();
+        if (task instanceof AntiTask)
+        {
+            Date date = ((AntiTask) task).getActiveDate();
+            return List.of(date, date.getNextDay());
+        }
+        return new ArrayList<>(task.getScheduledTimes().keySet());
+    }
+
+    private static void addTo(Schedule schedule, Task task)
+    {
+        if (task instanceof RecurringTask)
+            schedule.addTask((RecurringTask) task);
+        else if (task instanceof AntiTask)
+            schedule.addTask((AntiTask) task);
+        else
+            schedule.addTask((TransientTask) task);
+    }
+
+    private static void removeFrom(Schedule schedule, Task task)
+    {
+        if (task instanceof RecurringTask)
+            schedule.removeTask((RecurringTask) task);
+        else if (task instanceof AntiTask)
+            schedule.removeTask((AntiTask) task);
+        else
+            schedule.removeTask((TransientTask) task);
+    }
+
+    /**
+     * Gets a copy of the current version of the schedule.
+     * The copy takes constant time and later changes to either schedule do not affect the other.
+     *
+     * @return A new schedule with the current tasks.
+     */
+    public Schedule getSchedule()
+    {
+        return new Schedule(published.get());
+    }
+
+    /**
+     * Gets the current version of the schedule as an immutable snapshot,
+     * which can be queried without copies while other threads keep changing the schedule.
+     *
+     * @return The snapshot of the current version.
+     */
+    public ScheduleSnapshot getSnapshot()
+    {
+        return published.get().getSnapshot();
+    }
+
+    /**
+     * Gets a set of the tasks on a given date.
+     *
+     * @param date The date to check.
+     * @return A set of tasks applicable to that date,
+     *         or null if there are no tasks scheduled that day.
+     */
+    public Set<Task> getDailyTasks(Date date)
+    {
+        return published.get().getDailyTasks(date);
+    }
+
+    /**
+     * Gets every timeframe occupied by a task within a range of dates,
+     * ordered by date and then by starting time.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return A list of agenda entries, empty if there are no tasks within the range.
+     */
+    public List<AgendaEntry> getAgenda(Date from, Date to)
+    {
+        return published.get().getAgenda(from, to);
+    }
+
+    /**
+     * Gets the busy time of a date.
+     *
+     * @param date The date to check.
+     * @return The occupancy of the date.
+     */
+    public DayOccupancy getOccupancy(Date date)
+    {
+        return published.get().getOccupancy(date);
+    }
+
+    /**
+     * Checks whether a timeframe on a date is free of tasks.
+     *
+     * @param date The date to check.
+     * @param timeframe The timeframe to check.
+     * @return True if no task occupies any part of the timeframe, false otherwise.
+     */
+    public boolean isFree(Date date, Timeframe timeframe)
+    {
+        return published.get().isFree(date, timeframe);
+    }
+
+    /**
+     * Returns a set of tasks in the given category.
+     *
+     * @param category The category to look under.
+     * @return A set of tasks in that category or null
+     *         if there are no scheduled tasks within that category.
+     */
+    public Set<Task> getTasksByCategory(String category)
+    {
+        return published.get().getTasksByCategory(category);
+    }
+
+    /**
+     * Gets a set of categories with at least one scheduled task.
+     *
+     * @return A read-only set of the active categories.
+     */
+    public Set<String> getActiveCategories()
+    {
+        return published.get().getActiveCategories();
+    }
+
+    /**
+     * Gets the first task with the given name, preferring
+     * transient tasks, then recurring tasks, then anti-tasks.
+     *
+     * @param taskName The name of the task.
+     * @return A reference to the task, or null if not found.
+     */
+    public Task getTask(String taskName)
+    {
+        return published.get().getTask(taskName);
+    }
+
+    /**
+     * Gets every task with the given name.
+     *
+     * @param taskName The name of the tasks.
+     * @return A read-only set of the tasks, or null if there are none.
+     */
+    public Set<Task> getTasksByName(String taskName)
+    {
+        return published.get().getTasksByName(taskName);
+    }
+
+    /**
+     * Gets the names of every task starting with the given text.
+     *
+     * @param prefix The text the names start with.
+     * @return A sorted set of task names.
+     */
+    public SortedSet<String> getTaskNamesStartingWith(String prefix)
+    {
+        return published.get().getTaskNamesStartingWith(prefix);
+    }
+
+    /**
+     * Gets a set of all transient tasks across the entire calendar.
+     *
+     * @return A set of all scheduled transient tasks.
+     */
+    public Set<TransientTask> getTransientTasks()
+    {
+        return published.get().getTransientTasks();
+    }
+
+    /**
+     * Gets a set of all recurring tasks across the entire calendar.
+     *
+     * @return A set of all scheduled recurring tasks.
+     */
+    public Set<RecurringTask> getRecurringTasks()
+    {
+        return published.get().getRecurringTasks();
+    }
+
+    /**
+     * Gets a set of all anti-tasks across the entire calendar.
+     *
+     * @return A set of all scheduled anti-tasks.
+     */
+    public Set<AntiTask> getAntiTasks()
+    {
+        return published.get().getAntiTasks();
+    }
+}
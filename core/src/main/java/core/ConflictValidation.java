@@ -0,0 +1,79 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks incoming daily timelines against existing ones for conflicts.
+ * Each date can be checked independently, so the dates are split in halves
+ * and checked in parallel until few enough are left to check directly.
+ * Neither the existing nor the incoming timelines may change while they are checked.
+ */
+// Validations only run within a merge and are never serialized.
+@SuppressWarnings("serial")
+class ConflictValidation extends RecursiveTask<List<TaskConflict>>
+{
+    private static final int DATES_PER_TASK = 64;
+
+    private final PersistentTreeMap<Date, DailyTimeline> existingTimelines;
+    private final List<Map.Entry<Date, DailyTimeline>> incomingTimelines;
+    private final int from, to;
+
+    /**
+     * Initializes a validation of a range of incoming timelines.
+     * @param existingTimelines The timelines to check against.
+     * @param incomingTimelines The timelines to check, ordered by date.
+     * @param from The index of the first incoming timeline to check.
+     * @param to The index after the last incoming timeline to check.
+     */
+    ConflictValidation(PersistentTreeMap<Date, DailyTimeline> existingTimelines,
+                       List<Map.Entry<Date, DailyTimeline>> incomingTimelines, int from, int to)
+    {
+        this.existingTimelines = existingTimelines;
+        this.incomingTimelines = incomingTimelines;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Finds the conflicts within the range of incoming timelines.
+     * @return The conflicts found, ordered by date.
+     */
+    @Override
+    protected List<TaskConflict> compute()
+    {
+        if (to - from <= DATES_PER_TASK)
+        {
+            List<TaskConflict> conflicts = new ArrayList<>();
+            for (int i = from; i < to; i++)
+            {
+                Map.Entry<Date, DailyTimeline> day = incomingTimelines.get(i);
+                DailyTimeline existingTimeline = existingTimelines.get(day.getKey());
+                if (existingTimeline != null)
+                    existingTimeline.findConflicts(day.getKey(), day.getValue(), conflicts);
+            }
+            return conflicts;
+        }
+        int middle = (from + to) >>> 1;
+        ConflictValidation firstHalf = new ConflictValidation(existingTimelines, incomingTimelines, from, middle);
+        ConflictValidation secondHalf = new ConflictValidation(existingTimelines, incomingTimelines, middle, to);
+        firstHalf.fork();
+        List<TaskConflict> conflicts = secondHalf.compute();
+        List<TaskConflict> firstConflicts = firstHalf.join();
+        if (conflicts.isEmpty())
+            return firstConflicts;
+        firstConflicts.addAll(conflicts);
+        return firstConflicts;
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An index of the timeframes scheduled on a single day, ordered by starting time.
+ * Scheduled timeframes never overlap, so a conflict with a new timeframe can only come from
+ * the timeframe starting closest before it or the one starting right after it.
+ * A bitmap of the busy 15 minute slots is kept alongside so most checks never reach the index.
+ * Timelines can be shared between copies of a schedule, so only the schedule
+ * owning a timeline may change it, and other schedules must change a copy.
+ */
+class DailyTimeline
+{
+    private final Object owner;
+    private TreeMap<Timeframe, Task> timeframes;
+    private long lowSlots, highSlots;
+
+    /**
+     * Initializes an empty timeline.
+     * @param owner The owner allowed to change the timeline.
+     */
+    DailyTimeline(Object owner)
+    {
+        this.owner = owner;
+        timeframes = new TreeMap<>();
+    }
+
+    /**
+     * Initializes a timeline using an existing timeline (copy constructor).
+     * @param timeline The timeline to copy.
+     * @param owner The owner allowed to change the copy.
+     */
+    DailyTimeline(DailyTimeline timeline, Object owner)
+    {
+        this.owner = owner;
+        timeframes = new TreeMap<>(timeline.timeframes);
+        lowSlots = timeline.lowSlots;
+        highSlots = timeline.highSlots;
+    }
+
+    /**
+     * Checks whether the timeline may be changed by the given owner.
+     * @param owner The owner to check.
+     * @return True if the timeline belongs to the owner, false otherwise.
+     */
+    boolean isOwnedBy(Object owner)
+    {
+        return this.owner == owner;
+    }
+
+    /**
+     * Attempts to find a task occupying part of the given timeframe.
+     * @param timeframe The timeframe to check, restricted to this day.
+     * @param ignoredTask A task whose timeframes should not be considered, or null.
+     * @return A conflicting task if found, or null otherwise.
+     */
+    Task findConflictingTask(Timeframe timeframe, Task ignoredTask)
+    {
+        if ((lowSlots & DayOccupancy.getLowSlots(timeframe)) == 0
+            && (highSlots & DayOccupancy.getHighSlots(timeframe)) == 0)
+            return null;
+        Map.Entry<Timeframe, Task> previous = timeframes.floorEntry(timeframe);
+        if (previous != null && previous.getValue() != ignoredTask && previous.getKey().conflictsWith(timeframe))
+            return previous.getValue();
+        Map.Entry<Timeframe, Task> next = timeframes.higherEntry(timeframe);
+        if (next != null && next.getValue() != ignoredTask && next.getKey().conflictsWith(timeframe))
+            return next.getValue();
+        return null;
+    }
+
+    /**
+     * Finds the timeframes of another timeline on the same day that conflict with this one.
+     * @param date The date of both timelines.
+     * @param timeline The other timeline.
+     * @param conflicts The list to add a conflict to for each conflicting timeframe of the other timeline.
+     */
+    void findConflicts(Date date, DailyTimeline timeline, List<TaskConflict> conflicts)
+    {
+        if ((lowSlots & timeline.lowSlots) == 0 && (highSlots & timeline.highSlots) == 0)
+            return;
+        for (Map.Entry<Timeframe, Task> entry : timeline.timeframes.entrySet())
+        {
+            Task conflictingTask = findConflictingTask(entry.getKey(), null);
+            if (conflictingTask != null)
+                conflicts.add(new TaskConflict(date, entry.getKey(), entry.getValue(), conflictingTask));
+        }
+    }
+
+    /**
+     * Associates every timeframe of another timeline on the same day with its task.
+     * The timeframes must not conflict with any existing timeframe.
+     * @param timeline The other timeline.
+     */
+    void addAll(DailyTimeline timeline)
+    {
+        timeframes.putAll(timeline.timeframes);
+        lowSlots |= timeline.lowSlots;
+        highSlots |= timeline.highSlots;
+    }
+
+    /**
+     * Associates a timeframe on this day with a task.
+     * The timeframe must not conflict with any existing timeframe.
+     * @param timeframe The timeframe, restricted to this day.
+     * @param task The task the timeframe belongs to.
+     */
+    void add(Timeframe timeframe, Task task)
+    {
+        timeframes.put(timeframe, task);
+        lowSlots |= DayOccupancy.getLowSlots(timeframe);
+        highSlots |= DayOccupancy.getHighSlots(timeframe);
+    }
+
+    /**
+     * Removes every timeframe belonging to the given task.
+     * @param task The task to remove.
+     */
+    void remove(Task task)
+    {
+        Iterator<Map.Entry<Timeframe, Task>> iterator = timeframes.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<Timeframe, Task> entry = iterator.next();
+            if (entry.getValue() == task)
+            {
+                lowSlots &= ~DayOccupancy.getLowSlots(entry.getKey());
+                highSlots &= ~DayOccupancy.getHighSlots(entry.getKey());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets a read-only view of the timeframes on this day and their tasks, ordered by starting time.
+     * @return The timeframes on this day.
+     */
+    SortedMap<Timeframe, Task> getTimeframes()
+    {
+        return Collections.unmodifiableSortedMap(timeframes);
+    }
+
+    /**
+     * Gets a read-only view of the tasks on this day, ordered by their first timeframe.
+     * A task only has two timeframes on a day when one occurence runs into the day and the next
+     * one starts on it, so only the first and last timeframes of a day can share a task.
+     * @return The tasks on this day, each included once.
+     */
+    Set<Task> getTasks()
+    {
+        return new AbstractSet<Task>()
+        {
+            @Override
+            public Iterator<Task> iterator()
+            {
+                Iterator<Task> tasks = timeframes.values().iterator();
+                Task first = tasks.hasNext() ? tasks.next() : null;
+                return new Iterator<Task>()
+                {
+                    private Task next = first;
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next != null;
+                    }
+
+                    @Override
+                    public Task next()
+                    {
+                        if (next == null)
+                            throw new NoSuchElementException();
+                        Task task = next;
+                        next = null;
+                        while (next == null && tasks.hasNext())
+                        {
+                            Task candidate = tasks.next();
+                            if (candidate != first)
+                                next = candidate;
+                        }
+                        return task;
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object task)
+            {
+                return timeframes.containsValue(task);
+            }
+
+            @Override
+            public int size()
+            {
+                if (timeframes.size() < 2)
+                    return timeframes.size();
+                Task first = timeframes.firstEntry().getValue();
+                return timeframes.lastEntry().getValue() == first ? timeframes.size() - 1 : timeframes.size();
+            }
+        };
+    }
+
+    /**
+     * Gets the busy and free slots of this day.
+     * @return The occupancy of this day.
+     */
+    DayOccupancy getOccupancy()
+    {
+        return new DayOccupancy(lowSlots, highSlots);
+    }
+
+    /**
+     * Checks whether there are no timeframes on this day.
+     * @return True if the timeline is empty, false otherwise.
+     */
+    boolean isEmpty()
+    {
+        return timeframes.isEmpty();
+    }
+}
@@ -0,0 +1,372 @@
+/**
+ * Oscar Bedolla - Testing
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+/**
+ * A class to represent a specific date (day, month, year).
+ * Dates are immutable and stored as a single count of days since January 1st, 1970,
+ * which keeps them cheap to compare, hash and use as map keys.
+ */
+public final class Date implements Comparable<Date>
+{
+    private static final String[] MONTHS = {"January", "February", "March", "April", "May", "June",
+                                            "July", "August", "September", "October", "November", "December"};
+    private static final Weekday[] WEEKDAYS = Weekday.values();
+
+    private final int epochDay;
+    private final Weekday weekday;
+
+    /**
+     * Initializes the date.
+     * @param month An integer ranging from 1 to 12 to represent the month.
+     * @param day An integer to represent the day of the month.
+     * @param year An integer to represent the year.
+     * @throws InvalidDateException Throws an exception if the provided date is invalid.
+     */
+    public Date(int month, int day, int year) throws InvalidDateException
+    {
+        if (!isValidDate(month, day, year))
+            throw new InvalidDateException(month, day, year);
+        this.epochDay = toEpochDay(month, day, year);
+        this.weekday = calculateWeekday(epochDay);
+    }
+
+    /**
+     * Initializes the date using an existing date. (copy constructor)
+     * Dates are immutable, so sharing the existing date is equally safe.
+     * @param date The existing date used to initialize this date.
+     */
+    public Date(Date date)
+    {
+        epochDay = date.epochDay;
+        weekday = date.weekday;
+    }
+
+    /**
+     * Initializes the date from a number of days since January 1st, 1970.
+     * @param epochDay The number of days since January 1st, 1970.
+     */
+    private Date(int epochDay)
+    {
+        this.epochDay = epochDay;
+        this.weekday = calculateWeekday(epochDay);
+    }
+
+    /**
+     * Gets the date corresponding to a number of days since January 1st, 1970.
+     * @param epochDay The number of days since January 1st, 1970 (negative for earlier dates).
+     * @return The corresponding date.
+     */
+    public static Date ofEpochDay(int epochDay)
+    {
+        return new Date(epochDay);
+    }
+
+    /**
+     * Reads a date in the format YYYYMMDD.
+     * @param concatenatedDate A date in the format YYYYMMDD.
+     * @return The corresponding date.
+     * @throws InvalidDateException If the provided date is invalid.
+     * @throws NumberFormatException If the text is not a date in the format YYYYMMDD.
+     */
+    public static Date fromConcatenatedDate(String concatenatedDate)
+    {
+        int value = Integer.parseInt(concatenatedDate.trim());
+        return new Date((value / 100) % 100, value % 100, value / 10000);
+    }
+
+    /**
+     * Gets the day.
+     * @return
+     */
+    public int getDay()
+    {
+        return toCivilDate(epochDay) & 31;
+    }
+
+    /**
+     * Gets the month.
+     * @return
+     */
+    public int getMonth()
+    {
+        return (toCivilDate(epochDay) >> 5) & 15;
+    }
+
+    /**
+     * Gets the year.
+     * @return
+     */
+    public int getYear()
+    {
+        return toCivilDate(epochDay) >> 9;
+    }
+
+    /**
+     * Gets the number of days since January 1st, 1970.
+     * @return The number of days since January 1st, 1970 (negative for earlier dates).
+     */
+    public int toEpochDay()
+    {
+        return epochDay;
+    }
+
+    /**
+     * Determines which day of the week a date falls on.
+     * January 1st, 1970 was a Thursday.
+     * @param epochDay The number of days since January 1st, 1970.
+     * @return A weekday constant from the Weekday enum.
+     */
+    private static Weekday calculateWeekday(int epochDay)
+    {
+        return WEEKDAYS[Math.floorMod(epochDay + 3, 7)];
+    }
+
+    /**
+     * Gives the weekday this date falls on.
+     * @return The weekday this date falls on.
+     */
+    public Weekday getWeekday()
+    {
+        return weekday;
+    }
+
+    /**
+     * The date corresponding to the next valid day.
+     * @return The next valid date.
+     */
+    public Date getNextDay()
+    {
+        return new Date(epochDay + 1);
+    }
+
+    /**
+     * The date corresponding to the previous valid day.
+     * @return The previous valid date.
+     */
+    public Date getPreviousDay()
+    {
+        return new Date(epochDay - 1);
+    }
+
+    /**
+     * The date corresponding to the day next week.
+     * @return The date next week.
+     */
+    public Date getNextWeek()
+    {
+        return new Date(epochDay + 7);
+    }
+
+    /**
+     * The date corresponding to the given number of days after this date.
+     * @param days The number of days to move forward, or backward if negative.
+     * @return The date the given number of days away.
+     */
+    public Date plusDays(int days)
+    {
+        return new Date(epochDay + days);
+    }
+
+    /**
+     * The date corresponding to the given number of months after this date, where the
+     * maximum day of the resulting month will be used in place of larger days.
+     * @param months The number of months to move forward, or backward if negative.
+     * @return The date the given number of months away.
+     */
+    public Date plusMonths(int months)
+    {
+        int civilDate = toCivilDate(epochDay);
+        int monthIndex = (civilDate >> 9) * 12 + ((civilDate >> 5) & 15) - 1 + months;
+        int newYear = Math.floorDiv(monthIndex, 12);
+        int newMonth = Math.floorMod(monthIndex, 12) + 1;
+        int newDay = Math.min(civilDate & 31, getMaxDay(newMonth, newYear));
+        return new Date(toEpochDay(newMonth, newDay, newYear));
+    }
+
+    /**
+     * Counts the number of days from this date to the given date.
+     * @param date The date to count towards.
+     * @return The number of days until the given date, negative if it falls before this date.
+     */
+    public int getDaysUntil(Date date)
+    {
+        return date.epochDay - epochDay;
+    }
+
+    /**
+     * Counts the number of calendar months from this date to the given date, ignoring the days.
+     * @param date The date to count towards.
+     * @return The number of months until the given date, negative if it falls before this date.
+     */
+    public int getMonthsUntil(Date date)
+    {
+        int civilDate = toCivilDate(epochDay);
+        int otherCivilDate = toCivilDate(date.epochDay);
+        return ((otherCivilDate >> 9) * 12 + ((otherCivilDate >> 5) & 15))
+               - ((civilDate >> 9) * 12 + ((civilDate >> 5) & 15));
+    }
+
+    /**
+     * The date corresponding to the next month, where the maximum
+     * day of that month will be used in place of larger days.
+     * @return
+     */
+    public Date getNextMonth()
+    {
+        return plusMonths(1);
+    }
+
+    /**
+     * Gives the name of the month this date falls on.
+     * @return A string representing the name of the month this date falls under.
+     */
+    public String getMonthName()
+    {
+        return MONTHS[getMonth() - 1];
+    }
+
+    /**
+     * Gives the date in the format YYYYMMDD.
+     * @return A date in the format YYYYMMDD.
+     */
+    public String getConcatenatedDate()
+    {
+        int civilDate = toCivilDate(epochDay);
+        return String.format("%4d%02d%02d", civilDate >> 9, (civilDate >> 5) & 15, civilDate & 31);
+    }
+
+    /**
+     * Checks whether the provided date is valid or not.
+     * @param month An integer ranging from 1 to 12 to represent the month.
+     * @param day An integer to represent the day of the month.
+     * @param year An integer to represent the year.
+     * @return True if the date is valid, false otherwise.
+     */
+    private static boolean isValidDate(int month, int day, int year)
+    {
+        if (month < 1 || month > 12)
+            return false;
+        if (day < 1 || day > getMaxDay(month, year))
+            return false;
+        return true;
+    }
+
+    /**
+     * Converts a date into the number of days since January 1st, 1970.
+     * @param month An integer ranging from 1 to 12 to represent the month.
+     * @param day An integer to represent the day of the month.
+     * @param year An integer to represent the year.
+     * @return The number of days since January 1st, 1970 (negative for earlier dates).
+     */
+    private static int toEpochDay(int month, int day, int year)
+    {
+        int calcYear = (month <= 2) ? year - 1 : year;
+        int era = Math.floorDiv(calcYear, 400);
+        int yearOfEra = calcYear - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Converts a number of days since January 1st, 1970 back into a day, month and year,
+     * packed into a single integer to avoid allocating.
+     * @param epochDay The number of days since January 1st, 1970.
+     * @return The year in the upper bits, followed by four bits of month and five bits of day.
+     */
+    private static int toCivilDate(int epochDay)
+    {
+        int shifted = epochDay + 719468;
+        int era = Math.floorDiv(shifted, 146097);
+        int dayOfEra = shifted - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * Gets the maximum day on a given month on a given year.
+     * @param month The month, in the range [1, 12].
+     * @param year The year.
+     * @return The maximum day of this month.
+     */
+    public static int getMaxDay(int month, int year)
+    {
+        int maxDay;
+        switch (month)
+        {
+            case 1: case 3: case 5: case 7: case 8: case 10: case 12:
+                maxDay = 31;
+                break;
+            case 4: case 6: case 9: case 11:
+                maxDay = 30;
+                break;
+            default:
+                // Handle Leap Years
+                if (year % 4 == 0 && ((year % 100 != 0) || (year % 400 == 0)))
+                    maxDay = 29;
+                else
+                    maxDay = 28;
+                break;
+        }
+        return maxDay;
+    }
+
+    /**
+     * Checks to see whether two dates are equivalent.
+     * @param object The date object to compare to this one.
+     * @return True if the dates are equivalent, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object)
+    {
+        if (!(object instanceof Date))
+            return false;
+        return epochDay == ((Date) object).epochDay;
+    }
+
+    /**
+     * Returns a hash code for this date.
+     * @return A hashcode unique to the date.
+     */
+    @Override
+    public int hashCode()
+    {
+        return epochDay;
+    }
+
+    /**
+     * Checks whether a date is before, after, or equivalent to this date.
+     * @param date The date object to compare to this one.
+     * @return 1 if this date is after the given one,
+     *         0 if the dates are equivalent,
+     *         or -1 if this date is before the given one.
+     */
+    @Override
+    public int compareTo(Date date)
+    {
+        return Integer.compare(epochDay, date.epochDay);
+    }
+
+    /**
+     * Returns a formatted date.
+     */
+    @Override
+    public String toString()
+    {
+        int civilDate = toCivilDate(epochDay);
+        return ((civilDate >> 5) & 15) + "/" + (civilDate & 31) + "/" + (civilDate >> 9);
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The free and busy times of a single day.
+ * Timeframes are made of 15 minute slots, so a day fits into 96 bits:
+ * slots 0 to 63 (00:00 to 15:45) are kept in one long and slots 64 to 95 (16:00 to 23:45) in another.
+ */
+public final class DayOccupancy
+{
+    public static final int SLOT_LENGTH = 15;
+    public static final int SLOTS_PER_DAY = 96;
+    public static final DayOccupancy FREE = new DayOccupancy(0L, 0L);
+
+    private final long lowSlots, highSlots;
+
+    /**
+     * Initializes the occupancy of a day.
+     * @param lowSlots The busy slots from 00:00 to 15:45, one bit per slot.
+     * @param highSlots The busy slots from 16:00 to 23:45, one bit per slot.
+     */
+    DayOccupancy(long lowSlots, long highSlots)
+    {
+        this.lowSlots = lowSlots;
+        this.highSlots = highSlots;
+    }
+
+    /**
+     * Checks whether the whole day is free.
+     * @return True if no slot is busy, false otherwise.
+     */
+    public boolean isFree()
+    {
+        return lowSlots == 0 && highSlots == 0;
+    }
+
+    /**
+     * Checks whether a timeframe is free on this day.
+     * Any portion of the timeframe running into the next day is ignored.
+     * @param timeframe The timeframe to check.
+     * @return True if none of the slots of the timeframe are busy, false otherwise.
+     */
+    public boolean isFree(Timeframe timeframe)
+    {
+        return (lowSlots & getLowSlots(timeframe)) == 0 && (highSlots & getHighSlots(timeframe)) == 0;
+    }
+
+    /**
+     * Checks whether the slot containing a given time is busy.
+     * @param minutes A time of day in minutes ranging from 0 (00:00) to 1439 (23:59).
+     * @return True if the slot is busy, false otherwise.
+     */
+    public boolean isBusyAt(int minutes)
+    {
+        int slot = minutes / SLOT_LENGTH;
+        if (slot < 64)
+            return (lowSlots & (1L << slot)) != 0;
+        return (highSlots & (1L << (slot - 64))) != 0;
+    }
+
+    /**
+     * Gets the number of busy minutes on this day.
+     * @return The number of busy minutes.
+     */
+    public int getBusyMinutes()
+    {
+        return (Long.bitCount(lowSlots) + Long.bitCount(highSlots)) * SLOT_LENGTH;
+    }
+
+    /**
+     * Gets the busy periods of this day, merging adjacent busy slots.
+     * @return The busy timeframes in order of starting time.
+     */
+    public List<Timeframe> getBusyTimeframes()
+    {
+        return getTimeframes(true);
+    }
+
+    /**
+     * Gets the free periods of this day, merging adjacent free slots.
+     * @return The free timeframes in order of starting time.
+     */
+    public List<Timeframe> getFreeTimeframes()
+    {
+        return getTimeframes(false);
+    }
+
+    /**
+     * Gets the periods of this day made of consecutive busy or free slots.
+     * A period covering the entire day is limited to 23:45 since that is the longest valid timeframe.
+     * @param busy True to get the busy periods, false to get the free ones.
+     * @return The timeframes in order of starting time.
+     */
+    private List<Timeframe> getTimeframes(boolean busy)
+    {
+        List<Timeframe> timeframes = new ArrayList<>();
+        int slot = 0;
+        while (slot < SLOTS_PER_DAY)
+        {
+            int start = slot;
+            while (slot < SLOTS_PER_DAY && isBusyAt(slot * SLOT_LENGTH) == busy)
+                slot++;
+            if (slot > start)
+            {
+                int duration = Math.min(slot - start, SLOTS_PER_DAY - 1) * SLOT_LENGTH;
+                timeframes.add(new Timeframe(start * SLOT_LENGTH, duration));
+            }
+            else
+                slot++;
+        }
+        return timeframes;
+    }
+
+    /**
+     * Gets the busy slots from 00:00 to 15:45.
+     * @return One bit per busy slot, where the lowest bit represents 00:00.
+     */
+    long getLowSlots()
+    {
+        return lowSlots;
+    }
+
+    /**
+     * Gets the busy slots from 16:00 to 23:45.
+     * @return One bit per busy slot, where the lowest bit represents 16:00.
+     */
+    long getHighSlots()
+    {
+        return highSlots;
+    }
+
+    /**
+     * Gets the slots from 00:00 to 15:45 covered by a timeframe.
+     * Any portion of the timeframe running into the next day is ignored.
+     * @param timeframe The timeframe.
+     * @return One bit per covered slot, where the lowest bit represents 00:00.
+     */
+    static long getLowSlots(Timeframe timeframe)
+    {
+        int firstSlot = timeframe.getStartingTime() / SLOT_LENGTH;
+        int endSlot = getEndSlot(timeframe);
+        return getSlotRange(Math.min(firstSlot, 64), Math.min(endSlot, 64));
+    }
+
+    /**
+     * Gets the slots from 16:00 to 23:45 covered by a timeframe.
+     * Any portion of the timeframe running into the next day is ignored.
+     * @param timeframe The timeframe.
+     * @return One bit per covered slot, where the lowest bit represents 16:00.
+     */
+    static long getHighSlots(Timeframe timeframe)
+    {
+        int firstSlot = timeframe.getStartingTime() / SLOT_LENGTH;
+        int endSlot = getEndSlot(timeframe);
+        return getSlotRange(Math.max(firstSlot, 64) - 64, Math.max(endSlot, 64) - 64);
+    }
+
+    /**
+     * Gets the slot right after a timeframe ends, limited to the end of the day.
+     * @param timeframe The timeframe.
+     * @return The index of the first slot after the timeframe.
+     */
+    private static int getEndSlot(Timeframe timeframe)
+    {
+        return Math.min(timeframe.getStartingTime() + timeframe.getDuration(), SLOTS_PER_DAY * SLOT_LENGTH)
+               / SLOT_LENGTH;
+    }
+
+    /**
+     * Gets a mask with the bits in a range set.
+     * @param from The first bit, ranging from 0 to 64.
+     * @param to The bit after the last one, ranging from 0 to 64.
+     * @return A mask with the bits from (inclusive) and to (exclusive) set.
+     */
+    private static long getSlotRange(int from, int to)
+    {
+        if (from >= to)
+            return 0L;
+        long upToEnd = (to == 64) ? -1L : (1L << to) - 1;
+        return upToEnd & ~((1L << from) - 1);
+    }
+
+    /**
+     * Checks to see whether two occupancies are equivalent.
+     * @param object The occupancy to compare to this one.
+     * @return True if the same slots are busy, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object)
+    {
+        if (!(object instanceof DayOccupancy))
+            return false;
+        DayOccupancy occupancy = (DayOccupancy) object;
+        return lowSlots == occupancy.lowSlots && highSlots == occupancy.highSlots;
+    }
+
+    /**
+     * Returns a hash code for this occupancy.
+     * @return A hash code for the busy slots.
+     */
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(lowSlots) * 31 + Long.hashCode(highSlots);
+    }
+
+    /**
+     * Gets a string listing the busy periods of the day.
+     * @return A string representing the busy periods.
+     */
+    @Override
+    public String toString()
+    {
+        return "Busy " + getBusyTimeframes();
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes schedules as compact binary snapshots, which {@link ImportBinary} reads back
+ * much faster than JSON since nothing has to be parsed from text or checked for conflicts again.
+ */
+public class ExportBinary
+{
+    /**
+     * Writes every task of a schedule to a file as a binary snapshot, replacing the file.
+     *
+     * @param schedule The schedule to export.
+     * @param destination The file to write to.
+     * @throws IOException If the file cannot be written to.
+     */
+    public static void export(Schedule schedule, File destination) throws IOException
+    {
+        try (OutputStream output = new FileOutputStream(destination))
+        {
+            export(schedule, output);
+        }
+    }
+
+    /**
+     * Writes every task of a schedule as a binary snapshot.
+     * Anti-tasks refer to the recurring task they cancel by its position in the snapshot,
+     * and transient tasks are written in date order so each date is stored as the days since the last one.
+     *
+     * @param schedule The schedule to export.
+     * @param destination The stream to write the snapshot to. It is flushed but not closed.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public static void export(Schedule schedule, OutputStream destination) throws IOException
+    {
+        List<RecurringTask> recurringTasks = new ArrayList<>(schedule.getRecurringTaskView());
+        List<AntiTask> antiTasks = new ArrayList<>(schedule.getAntiTaskView());
+        List<TransientTask> transientTasks = new ArrayList<>(schedule.getTransientTaskView());
+        transientTasks.sort(Comparator.comparing(TransientTask::getActiveDate));
+
+        // Intern Every Name & Category
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (RecurringTask task : recurringTasks)
+            intern(strings, task);
+        for (AntiTask task : antiTasks)
+            intern(strings, task);
+        for (TransientTask task : transientTasks)
+            intern(strings, task);
+        Map<RecurringTask, Integer> recurringIndexes = new IdentityHashMap<>();
+        for (RecurringTask task : recurringTasks)
+            recurringIndexes.put(task, recurringIndexes.size());
+
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(destination));
+        output.writeInt(BinaryFormat.MAGIC);
+        BinaryFormat.writeVarInt(output, BinaryFormat.VERSION);
+        BinaryFormat.writeVarInt(output, strings.size());
+        for (String string : strings.keySet())
+            BinaryFormat.writeString(output, string);
+
+        BinaryFormat.writeVarInt(output, recurringTasks.size());
+        for (RecurringTask task : recurringTasks)
+        {
+            BinaryFormat.writeVarInt(output, strings.get(task.getTaskName()));
+            BinaryFormat.writeVarInt(output, strings.get(task.getCategory()));
+            BinaryFormat.writeTimeframe(output, task.getGeneralTimeframe());
+            BinaryFormat.writeSignedVarInt(output, task.getStartingDate().toEpochDay());
+            BinaryFormat.writeVarInt(output, task.getStartingDate().getDaysUntil(task.getEndingDate()));
+            BinaryFormat.writeVarInt(output, task.getFrequency().getValue());
+        }
+
+        // Anti-tasks share the timeframe of the recurring task they cancel.
+        BinaryFormat.writeVarInt(output, antiTasks.size());
+        for (AntiTask task : antiTasks)
+        {
+            RecurringTask cancelledTask = task.getCancelledTask();
+            BinaryFormat.writeVarInt(output, strings.get(task.getTaskName()));
+            BinaryFormat.writeVarInt(output, recurringIndexes.get(cancelledTask));
+            BinaryFormat.writeVarInt(output, cancelledTask.getStartingDate().getDaysUntil(task.getActiveDate()));
+        }
+
+        BinaryFormat.writeVarInt(output, transientTasks.size());
+        int previousEpochDay = 0;
+        for (TransientTask task : transientTasks)
+        {
+            int epochDay = task.getActiveDate().toEpochDay();
+            BinaryFormat.writeVarInt(output, strings.get(task.getTaskName()));
+            BinaryFormat.writeVarInt(output, strings.get(task.getCategory()));
+            BinaryFormat.writeTimeframe(output, task.getGeneralTimeframe());
+            BinaryFormat.writeSignedVarInt(output, epochDay - previousEpochDay);
+            previousEpochDay = epochDay;
+        }
+        output.flush();
+    }
+
+    /**
+     * Adds the name and category of a task to the string table, if not already in it.
+     *
+     * @param strings The string table, mapping each string to its index.
+     * @param task The task.
+     */
+    private static void intern(Map<String, Integer> strings, Task task)
+    {
+        strings.putIfAbsent(task.getTaskName(), strings.size());
+        strings.putIfAbsent(task.getCategory(), strings.size());
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+// Requires Gson-2.8.6 dependency
+public class ExportJson
+{
+    public void export(Schedule schedulePassed, File filepath)
+    {
+        export(schedulePassed, filepath, true);
+    }
+
+    public void export(Schedule schedulePassed, File filepath, boolean prettyPrinting)
+    {
+        try (Writer writer = new BufferedWriter(new FileWriter(filepath)))
+        {
+            export(schedulePassed, writer, prettyPrinting);
+        }
+        catch (IOException e) 
+        {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes every task of a schedule as a JSON array.
+     * Each task is written directly to the destination as it is visited,
+     * so no copy of the schedule or JSON tree is built in memory.
+     * Recurring tasks are written before the anti-tasks that cancel them.
+     *
+     * @param schedule The schedule to export.
+     * @param destination The writer to write the JSON text to. It is flushed but not closed.
+     * @param prettyPrinting True to indent the output, false to write it on a single line.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public static void export(Schedule schedule, Writer destination, boolean prettyPrinting) throws IOException
+    {
+        JsonWriter writer = new JsonWriter(destination);
+        writer.setHtmlSafe(true);
+        if (prettyPrinting)
+            writer.setIndent("  ");
+        writer.beginArray();
+
+        for (RecurringTask task : schedule.getRecurringTaskView())
+            task.writeJson(writer);
+
+        for (AntiTask task : schedule.getAntiTaskView())
+            task.writeJson(writer);
+
+        for (TransientTask task : schedule.getTransientTaskView())
+            task.writeJson(writer);
+
+        writer.endArray();
+        writer.flush();
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+/**
+ * A timeframe on a specific date with no task scheduled, where a new task would fit.
+ */
+public final class FreeSlot
+{
+    private final Date date;
+    private final Timeframe timeframe;
+
+    /**
+     * Initializes a free slot.
+     * @param date The date the slot starts on.
+     * @param timeframe The free timeframe, which may run into the next day.
+     */
+    FreeSlot(Date date, Timeframe timeframe)
+    {
+        this.date = date;
+        this.timeframe = timeframe;
+    }
+
+    /**
+     * Gets the date the slot starts on.
+     * @return The date of the slot.
+     */
+    public Date getDate()
+    {
+        return date;
+    }
+
+    /**
+     * Gets the free timeframe, which may run into the next day.
+     * @return The timeframe of the slot.
+     */
+    public Timeframe getTimeframe()
+    {
+        return timeframe;
+    }
+
+    /**
+     * Checks to see whether two free slots are equivalent.
+     * @param object The free slot to compare to this one.
+     * @return True if both slots start on the same date at the same time and last as long, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object)
+    {
+        if (!(object instanceof FreeSlot))
+            return false;
+        FreeSlot slot = (FreeSlot) object;
+        return date.equals(slot.date) && timeframe.equals(slot.timeframe);
+    }
+
+    /**
+     * Returns a hash code for this free slot.
+     * @return A hash code combining the date and timeframe.
+     */
+    @Override
+    public int hashCode()
+    {
+        return 31 * date.hashCode() + timeframe.hashCode();
+    }
+
+    /**
+     * Gets a string with a textual representation of the free slot.
+     * @return A string with the date and timeframe of the slot.
+     */
+    @Override
+    public String toString()
+    {
+        return date + " " + timeframe;
+    }
+}
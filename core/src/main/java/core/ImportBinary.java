@@ -0,0 +1,133 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads binary snapshots written by {@link ExportBinary} back into schedules.
+ * A snapshot was free of conflicts when it was written, so its tasks are restored
+ * without checking them for conflicts again.
+ */
+public class ImportBinary
+{
+    /**
+     * Reads a schedule from a binary snapshot file.
+     *
+     * @param source The file to read.
+     * @return A new schedule with the tasks of the snapshot.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static Schedule importing(File source) throws IOException
+    {
+        try (InputStream input = new FileInputStream(source))
+        {
+            return importing(input);
+        }
+    }
+
+    /**
+     * Reads a schedule from a binary snapshot.
+     *
+     * @param source The stream to read the snapshot from. It is not closed.
+     * @return A new schedule with the tasks of the snapshot.
+     * @throws IOException If the source cannot be read or is not a valid snapshot.
+     */
+    public static Schedule importing(InputStream source) throws IOException
+    {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(source));
+        if (input.readInt() != BinaryFormat.MAGIC)
+            throw new IOException("Not a schedule snapshot.");
+        int version = BinaryFormat.readVarInt(input);
+        if (version != BinaryFormat.VERSION)
+            throw new IOException("Unsupported schedule snapshot version " + version + ".");
+
+        // Counts are not trusted to size anything, so a corrupt count fails once the input ends.
+        int stringCount = BinaryFormat.readLength(input);
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < stringCount; i++)
+            strings.add(BinaryFormat.readString(input));
+
+        List<Task> tasks = new ArrayList<>();
+        try
+        {
+            int recurringTaskCount = BinaryFormat.readLength(input);
+            List<RecurringTask> recurringTasks = new ArrayList<>();
+            for (int i = 0; i < recurringTaskCount; i++)
+            {
+                String name = readString(input, strings);
+                String category = readString(input, strings);
+                Timeframe timeframe = BinaryFormat.readTimeframe(input);
+                Date startingDate = Date.ofEpochDay(BinaryFormat.readSignedVarInt(input));
+                Date endingDate = startingDate.plusDays(BinaryFormat.readVarInt(input));
+                TaskFrequency frequency = BinaryFormat.readFrequency(input);
+                recurringTasks.add(new RecurringTask(name, category, timeframe, startingDate, endingDate, frequency));
+            }
+
+            // Attach each anti-task first, so its recurring task leaves out the cancelled occurence.
+            int antiTaskCount = BinaryFormat.readLength(input);
+            for (int i = 0; i < antiTaskCount; i++)
+            {
+                String name = readString(input, strings);
+                int index = BinaryFormat.readVarInt(input);
+                if (index < 0 || index >= recurringTasks.size())
+                    throw new IOException("Invalid recurring task index " + index + " in schedule snapshot.");
+                RecurringTask cancelledTask = recurringTasks.get(index);
+                AntiTask antiTask = new AntiTask(name, cancelledTask.getGeneralTimeframe(),
+                                                 cancelledTask.getStartingDate().plusDays(BinaryFormat.readVarInt(input)));
+                cancelledTask.addAntiTask(antiTask);
+                tasks.add(antiTask);
+            }
+            tasks.addAll(recurringTasks);
+
+            int transientTaskCount = BinaryFormat.readLength(input);
+            int epochDay = 0;
+            for (int i = 0; i < transientTaskCount; i++)
+            {
+                String name = readString(input, strings);
+                String category = readString(input, strings);
+                Timeframe timeframe = BinaryFormat.readTimeframe(input);
+                epochDay += BinaryFormat.readSignedVarInt(input);
+                tasks.add(new TransientTask(name, category, timeframe, Date.ofEpochDay(epochDay)));
+            }
+        }
+        catch (InvalidTaskException e)
+        {
+            throw new IOException("Invalid task in schedule snapshot.", e);
+        }
+
+        Schedule schedule = new Schedule();
+        schedule.restore(tasks);
+        return schedule;
+    }
+
+    /**
+     * Reads an index into the string table and looks up its string.
+     *
+     * @param input The input to read from.
+     * @param strings The string table.
+     * @return The string at the index read.
+     * @throws IOException If the input ends early or the index is outside the table.
+     */
+    private static String readString(DataInputStream input, List<String> strings) throws IOException
+    {
+        int index = BinaryFormat.readVarInt(input);
+        if (index < 0 || index >= strings.size())
+            throw new IOException("Invalid string index " + index + " in schedule snapshot.");
+        return strings.get(index);
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+
+// Requires Gson-2.8.6 dependency
+public class ImportJson
+{
+    Schedule currentSched = new Schedule();
+
+    //From UI: call this method
+    public Schedule getFromUI(File passed)
+    {
+        //File location
+        File imported = passed;
+        importing(imported);
+
+        return currentSched;
+    }
+
+    public void getFromUINoReturn(File passed){
+        //File location
+        File imported = passed;
+        importing(imported);
+    }
+
+    //Example Merge Imported Schedule
+    //ImportJSON test = new ImportJSON("/Set1.json");
+    //schedule.merge(test.passImport());
+
+    //Constructor
+    public ImportJson(){
+        //Instantiate ImportJSON obj then call getFromUI
+    }
+
+    public ImportJson(String s)
+    {
+        //File location
+        File imported = new File(s);
+        importing(imported);
+
+    }
+
+    //Grab imported schedule to pass to merge method against existing schedule
+    public Schedule passImport()
+    {
+        return currentSched;
+    }
+
+
+    public void importing(File importedSet)
+    {
+        currentSched = new Schedule();
+        try (Reader source = new BufferedReader(new FileReader(importedSet)))
+        {
+            importing(source, currentSched);
+        }
+        catch (IOException | NullPointerException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads a JSON array of tasks and adds them to a schedule.
+     * Tasks are read one at a time from the stream and then added together,
+     * so either every task is added or none are.
+     *
+     * @param source The JSON text to read.
+     * @param schedule The schedule to add the tasks to.
+     * @throws IOException If the source cannot be read or is not valid JSON.
+     * @throws TaskConflictException If a task conflicts with one already in the schedule or another imported one.
+     */
+    public static void importing(Reader source, Schedule schedule) throws IOException
+    {
+        JsonReader reader = new JsonReader(source);
+        reader.setLenient(true);
+        List<Task> tasks = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext())
+            tasks.add(importTask(reader));
+        reader.endArray();
+        schedule.addTasks(tasks);
+    }
+
+    /**
+     * Reads a single task object.
+     *
+     * @param reader The reader, positioned at the start of a task object.
+     * @return The task read.
+     * @throws IOException If the task cannot be read.
+     */
+    private static Task importTask(JsonReader reader) throws IOException
+    {
+        String name = null, type = null, date = null, startDate = null, endDate = null;
+        double startTime = 0, duration = 0;
+        int frequency = 0;
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String property = reader.nextName();
+            if (reader.peek() == JsonToken.NULL)
+            {
+                reader.nextNull();
+                continue;
+            }
+            switch (property)
+            {
+                case "Name":
+                    name = reader.nextString();
+                    break;
+                case "Type":
+                    type = reader.nextString();
+                    break;
+                case "Date":
+                    date = reader.nextString();
+                    break;
+                case "StartDate":
+                    startDate = reader.nextString();
+                    break;
+                case "EndDate":
+                    endDate = reader.nextString();
+                    break;
+                case "StartTime":
+                    startTime = reader.nextDouble();
+                    break;
+                case "Duration":
+                    duration = reader.nextDouble();
+                    break;
+                case "Frequency":
+                    frequency = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        //Transient = true
+        if (!type.equals("Cancellation") && endDate == null)
+            return new TransientTask(name, type, new Timeframe(startTime, duration),
+                                     Date.fromConcatenatedDate(date));
+        //Recurring = true
+        else if (!type.equals("Cancellation") && frequency != 0)
+            return new RecurringTask(name, type, new Timeframe(startTime, duration),
+                                     Date.fromConcatenatedDate(startDate), Date.fromConcatenatedDate(endDate),
+                                     TaskFrequency.getFrequency(frequency));
+        //Anti Task
+        else
+            return new AntiTask(name, new Timeframe(startTime, duration), Date.fromConcatenatedDate(date));
+    }
+}
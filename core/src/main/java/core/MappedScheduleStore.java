@@ -0,0 +1,498 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A read-only schedule kept in a memory-mapped file, for calendars too large to keep in memory.
+ * The file holds a fixed-size record for every day with tasks, sorted by date, with the busy slots of the day,
+ * then the timeframes on each day, then a table of every task and finally the task names and categories.
+ * Queries binary search the day records and only read the days they ask about,
+ * decoding each task the first time it is needed.
+ * <p>
+ * Tasks added to the store are kept in memory on top of the file and checked for conflicts against both.
+ * {@link #compact(File)} writes the tasks of the file and the added tasks to a new file.
+ * Reads are safe from any thread.
+ */
+public final class MappedScheduleStore
+{
+    // "SCHM"
+    private static final int MAGIC = 0x5343484D;
+    private static final int VERSION = 1;
+
+    // Magic, Version, Day Count, Entry Count, Task Count, String Count & Reserved Space
+    private static final int HEADER_SIZE = 32;
+    // Epoch Day, Low Slots, High Slots, First Entry, Entry Count
+    private static final int DAY_SIZE = 28;
+    // Starting Slot, Slot Count, Task Index
+    private static final int ENTRY_SIZE = 8;
+    // Type, Frequency, Starting Slot, Slot Count, Name, Category, Date, Ending Date Or Zero, Anti-Task Count
+    private static final int TASK_SIZE = 24;
+
+    private static final byte TRANSIENT = 0, RECURRING = 1, ANTI = 2;
+
+    private final ByteBuffer buffer;
+    private final int dayCount, taskCount;
+    private final int entriesOffset, tasksOffset, stringsOffset;
+
+    // Tasks Of The File By Index, Decoded The First Time They Are Needed
+    private final ConcurrentMap<Integer, Task> decodedTasks;
+
+    // Tasks Added Since The File Was Written
+    private final Schedule overlay;
+
+    /**
+     * Initializes a store over a mapped file, checking that the file is a store.
+     * @param buffer The contents of the file.
+     * @throws IOException If the file is not a schedule store or is cut short.
+     */
+    private MappedScheduleStore(ByteBuffer buffer) throws IOException
+    {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a schedule store.");
+        if (buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported schedule store version " + buffer.getInt(4) + ".");
+        this.buffer = buffer;
+        dayCount = buffer.getInt(8);
+        int entryCount = buffer.getInt(12);
+        taskCount = buffer.getInt(16);
+        int stringCount = buffer.getInt(20);
+        long entries = HEADER_SIZE + (long) dayCount * DAY_SIZE;
+        long tasks = entries + (long) entryCount * ENTRY_SIZE;
+        long strings = tasks + (long) taskCount * TASK_SIZE;
+        if (dayCount < 0 || entryCount < 0 || taskCount < 0 || stringCount < 0
+            || strings + (long) stringCount * Integer.BYTES > buffer.capacity())
+            throw new IOException("The schedule store is cut short.");
+        entriesOffset = (int) entries;
+        tasksOffset = (int) tasks;
+        stringsOffset = (int) strings;
+        decodedTasks = new ConcurrentHashMap<>();
+        overlay = new Schedule();
+    }
+
+    /**
+     * Opens a store written by {@link #write(Schedule, File)}.
+     * The file is mapped rather than read, and stays mapped until the store is garbage collected.
+     * @param source The file to open.
+     * @return The store.
+     * @throws IOException If the file cannot be read, is not a schedule store, or is over 2 GB.
+     */
+    public static MappedScheduleStore open(File source) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(source.toPath(), StandardOpenOption.READ))
+        {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("The schedule store " + source + " is too large to map.");
+            return new MappedScheduleStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes every task of a schedule to a store file, replacing the file.
+     * @param schedule The schedule to write.
+     * @param destination The file to write to.
+     * @throws IOException If the file cannot be written to or the schedule is too large for one file.
+     */
+    public static void write(Schedule schedule, File destination) throws IOException
+    {
+        ScheduleSnapshot snapshot = schedule.getSnapshot();
+        PersistentTreeMap<Date, DailyTimeline> timelines = snapshot.getTimelines();
+
+        // Number Every Task, Each Recurring Task Followed By Its Anti-Tasks
+        List<Task> tasks = new ArrayList<>();
+        Map<Task, Integer> taskIndexes = new IdentityHashMap<>();
+        Map<RecurringTask, Integer> antiTaskCounts = new IdentityHashMap<>();
+        for (RecurringTask task : snapshot.getRecurringTasks())
+        {
+            taskIndexes.put(task, tasks.size());
+            tasks.add(task);
+            Set<AntiTask> antiTasks = task.getAntiTasks();
+            antiTaskCounts.put(task, antiTasks.size());
+            tasks.addAll(antiTasks);
+        }
+        for (TransientTask task : snapshot.getTransientTasks())
+        {
+            taskIndexes.put(task, tasks.size());
+            tasks.add(task);
+        }
+
+        // Intern Every Name & Category
+        Map<String, Integer> stringIndexes = new LinkedHashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        for (Task task : tasks)
+        {
+            for (String string : new String[] {task.getTaskName(), task.getCategory()})
+            {
+                if (stringIndexes.putIfAbsent(string, strings.size()) == null)
+                    strings.add(string.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int entryCount = 0;
+        for (Map.Entry<Date, DailyTimeline> day : timelines)
+            entryCount += day.getValue().getTimeframes().size();
+        long stringsOffset = HEADER_SIZE + (long) timelines.size() * DAY_SIZE + (long) entryCount * ENTRY_SIZE
+                             + (long) tasks.size() * TASK_SIZE;
+        long size = stringsOffset + (long) strings.size() * Integer.BYTES;
+        for (byte[] string : strings)
+            size += Integer.BYTES + string.length;
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("The schedule is too large for a single schedule store.");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(destination))))
+        {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(timelines.size());
+            output.writeInt(entryCount);
+            output.writeInt(tasks.size());
+            output.writeInt(strings.size());
+            output.writeLong(0L);
+
+            int firstEntry = 0;
+            for (Map.Entry<Date, DailyTimeline> day : timelines)
+            {
+                DayOccupancy occupancy = day.getValue().getOccupancy();
+                int dayEntryCount = day.getValue().getTimeframes().size();
+                output.writeInt(day.getKey().toEpochDay());
+                output.writeLong(occupancy.getLowSlots());
+                output.writeLong(occupancy.getHighSlots());
+                output.writeInt(firstEntry);
+                output.writeInt(dayEntryCount);
+                firstEntry += dayEntryCount;
+            }
+
+            for (Map.Entry<Date, DailyTimeline> day : timelines)
+            {
+                for (Map.Entry<Timeframe, Task> entry : day.getValue().getTimeframes().entrySet())
+                {
+                    output.writeShort(entry.getKey().getStartingTime() / DayOccupancy.SLOT_LENGTH);
+                    output.writeShort(entry.getKey().getDuration() / DayOccupancy.SLOT_LENGTH);
+                    output.writeInt(taskIndexes.get(entry.getValue()));
+                }
+            }
+
+            for (Task task : tasks)
+            {
+                Timeframe timeframe = task.getGeneralTimeframe();
+                if (task instanceof RecurringTask)
+                {
+                    RecurringTask recurringTask = (RecurringTask) task;
+                    output.writeByte(RECURRING);
+                    output.writeByte(recurringTask.getFrequency().getValue());
+                }
+                else
+                {
+                    output.writeByte(task instanceof AntiTask ? ANTI : TRANSIENT);
+                    output.writeByte(0);
+                }
+                output.writeByte(timeframe.getStartingTime() / DayOccupancy.SLOT_LENGTH);
+                output.writeByte(timeframe.getDuration() / DayOccupancy.SLOT_LENGTH);
+                output.writeInt(stringIndexes.get(task.getTaskName()));
+                output.writeInt(stringIndexes.get(task.getCategory()));
+                if (task instanceof RecurringTask)
+                {
+                    RecurringTask recurringTask = (RecurringTask) task;
+                    output.writeInt(recurringTask.getStartingDate().toEpochDay());
+                    output.writeInt(recurringTask.getEndingDate().toEpochDay());
+                    output.writeInt(antiTaskCounts.get(recurringTask));
+                }
+                else
+                {
+                    Date date = (task instanceof AntiTask) ? ((AntiTask) task).getActiveDate()
+                                                           : ((TransientTask) task).getActiveDate();
+                    output.writeInt(date.toEpochDay());
+                    output.writeInt(0);
+                    output.writeInt(0);
+                }
+            }
+
+            long stringOffset = stringsOffset + (long) strings.size() * Integer.BYTES;
+            for (byte[] string : strings)
+            {
+                output.writeInt((int) stringOffset);
+                stringOffset += Integer.BYTES + string.length;
+            }
+            for (byte[] string : strings)
+            {
+                output.writeInt(string.length);
+                output.write(string);
+            }
+        }
+    }
+
+    /**
+     * Finds the record of a day in the file.
+     * @param date The date of the day.
+     * @return The position of the day record, or -1 if there are no tasks in the file on that day.
+     */
+    private int findDay(Date date)
+    {
+        int epochDay = date.toEpochDay();
+        int low = 0, high = dayCount - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int record = HEADER_SIZE + middle * DAY_SIZE;
+            int middleDay = buffer.getInt(record);
+            if (middleDay < epochDay)
+                low = middle + 1;
+            else if (middleDay > epochDay)
+                high = middle - 1;
+            else
+                return record;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a timeframe on a day of the file.
+     * @param entry The position of the timeframe's entry.
+     * @return The timeframe.
+     */
+    private Timeframe getTimeframe(int entry)
+    {
+        return new Timeframe(buffer.getShort(entry) * DayOccupancy.SLOT_LENGTH,
+                             buffer.getShort(entry + 2) * DayOccupancy.SLOT_LENGTH);
+    }
+
+    /**
+     * Gets the position of the first timeframe entry of a day.
+     * @param dayRecord The position of the day record.
+     * @return The position of the day's first entry.
+     */
+    private int getFirstEntry(int dayRecord)
+    {
+        return entriesOffset + buffer.getInt(dayRecord + 20) * ENTRY_SIZE;
+    }
+
+    /**
+     * Gets a task of the file, decoding it if it was not needed before.
+     * Recurring tasks are decoded along with their anti-tasks.
+     * @param index The index of the task.
+     * @return The task.
+     */
+    private Task getTask(int index)
+    {
+        Task task = decodedTasks.get(index);
+        if (task == null)
+        {
+            // Another thread may decode the same task at once, so keep whichever is stored first.
+            task = decodeTask(index);
+            Task storedTask = decodedTasks.putIfAbsent(index, task);
+            if (storedTask != null)
+                task = storedTask;
+        }
+        return task;
+    }
+
+    /**
+     * Decodes a transient or recurring task of the file.
+     * @param index The index of the task.
+     * @return A new task object.
+     */
+    private Task decodeTask(int index)
+    {
+        int record = tasksOffset + index * TASK_SIZE;
+        Timeframe timeframe = new Timeframe((buffer.get(record + 2) & 0xFF) * DayOccupancy.SLOT_LENGTH,
+                                            (buffer.get(record + 3) & 0xFF) * DayOccupancy.SLOT_LENGTH);
+        String name = getString(buffer.getInt(record + 4));
+        String category = getString(buffer.getInt(record + 8));
+        Date date = Date.ofEpochDay(buffer.getInt(record + 12));
+        if (buffer.get(record) == TRANSIENT)
+            return new TransientTask(name, category, timeframe, date);
+
+        RecurringTask task = new RecurringTask(name, category, timeframe, date, Date.ofEpochDay(buffer.getInt(record + 16)),
+                                               TaskFrequency.getFrequency(buffer.get(record + 1)));
+        // The anti-tasks of a recurring task directly follow it.
+        int antiTaskCount = buffer.getInt(record + 20);
+        for (int i = 1; i <= antiTaskCount; i++)
+        {
+            int antiTaskRecord = record + i * TASK_SIZE;
+            task.addAntiTask(new AntiTask(getString(buffer.getInt(antiTaskRecord + 4)), timeframe,
+                                          Date.ofEpochDay(buffer.getInt(antiTaskRecord + 12))));
+        }
+        return task;
+    }
+
+    /**
+     * Decodes a name or category of the file.
+     * @param index The index of the string.
+     * @return The string.
+     */
+    private String getString(int index)
+    {
+        ByteBuffer string = buffer.duplicate();
+        string.position(buffer.getInt(stringsOffset + index * Integer.BYTES));
+        byte[] bytes = new byte[string.getInt()];
+        string.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Adds a transient task to the store, keeping it in memory until the store is compacted.
+     * @param newTask The transient task to add.
+     * @throws TaskConflictException If a task of the file or an added task conflicts with the one being added.
+     */
+    public synchronized void addTask(TransientTask newTask)
+    {
+        checkConflicts(newTask);
+        overlay.addTask(newTask);
+    }
+
+    /**
+     * Adds a recurring task to the store, keeping it in memory until the store is compacted.
+     * @param newTask The recurring task to add.
+     * @throws TaskConflictException If a task of the file or an added task conflicts with the one being added.
+     */
+    public synchronized void addTask(RecurringTask newTask)
+    {
+        checkConflicts(newTask);
+        overlay.addTask(newTask);
+    }
+
+    /**
+     * Checks a new task against the busy slots of every day of the file it occurs on,
+     * only looking for the conflicting task once a conflict is found.
+     * @param newTask The task to check.
+     * @throws TaskConflictException If a task of the file conflicts with the new one.
+     */
+    private void checkConflicts(Task newTask)
+    {
+        for (Map.Entry<Date, Set<Timeframe>> day : newTask.getScheduledTimes().entrySet())
+        {
+            int dayRecord = findDay(day.getKey());
+            if (dayRecord < 0)
+                continue;
+            DayOccupancy occupancy = new DayOccupancy(buffer.getLong(dayRecord + 4), buffer.getLong(dayRecord + 12));
+            for (Timeframe timeframe : day.getValue())
+            {
+                if (occupancy.isFree(timeframe))
+                    continue;
+                int entry = getFirstEntry(dayRecord);
+                for (int i = 0; i < buffer.getInt(dayRecord + 24); i++, entry += ENTRY_SIZE)
+                {
+                    if (getTimeframe(entry).conflictsWith(timeframe))
+                        throw new TaskConflictException(newTask, getTask(buffer.getInt(entry + 4)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the tasks of the file and every added task to a new store file.
+     * Every task is read into memory while the new file is written.
+     * The new file must be opened to use the compacted store.
+     * @param destination The file to write to, which must not be the file of this store.
+     * @throws IOException If the file cannot be written to.
+     */
+    public synchronized void compact(File destination) throws IOException
+    {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++)
+        {
+            if (buffer.get(tasksOffset + i * TASK_SIZE) == ANTI)
+                continue;
+            Task task = decodedTasks.get(i);
+            if (task == null)
+                task = decodeTask(i);
+            tasks.add(task);
+            if (task instanceof RecurringTask)
+                tasks.addAll(((RecurringTask) task).getAntiTasks());
+        }
+        ScheduleSnapshot addedTasks = overlay.getSnapshot();
+        tasks.addAll(addedTasks.getRecurringTasks());
+        tasks.addAll(addedTasks.getTransientTasks());
+
+        Schedule compacted = new Schedule();
+        compacted.restore(tasks);
+        write(compacted, destination);
+    }
+
+    /**
+     * Gets the timeframes occupied on the provided day and the task occupying each one.
+     * Tasks extending into the next day have their timeframes restricted to each day.
+     * @param date The date to check.
+     * @return A read-only map of timeframes to tasks ordered by starting time, empty if there are none.
+     */
+    public SortedMap<Timeframe, Task> getDailyTimeframes(Date date)
+    {
+        SortedMap<Timeframe, Task> timeframes = new TreeMap<>(overlay.getSnapshot().getDailyTimeframes(date));
+        int dayRecord = findDay(date);
+        if (dayRecord >= 0)
+        {
+            int entry = getFirstEntry(dayRecord);
+            for (int i = 0; i < buffer.getInt(dayRecord + 24); i++, entry += ENTRY_SIZE)
+                timeframes.put(getTimeframe(entry), getTask(buffer.getInt(entry + 4)));
+        }
+        return Collections.unmodifiableSortedMap(timeframes);
+    }
+
+    /**
+     * Gets the tasks on the provided day, including tasks extending in from the previous day.
+     * @param date The date to check.
+     * @return A read-only set of tasks ordered by their first timeframe on that date, empty if there are none.
+     */
+    public Set<Task> getDailyTasks(Date date)
+    {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(getDailyTimeframes(date).values()));
+    }
+
+    /**
+     * Gets the busy and free times of the provided day without decoding any tasks.
+     * @param date The date to check.
+     * @return The occupancy of that date.
+     */
+    public DayOccupancy getOccupancy(Date date)
+    {
+        DayOccupancy occupancy = overlay.getSnapshot().getOccupancy(date);
+        int dayRecord = findDay(date);
+        if (dayRecord < 0)
+            return occupancy;
+        return new DayOccupancy(buffer.getLong(dayRecord + 4) | occupancy.getLowSlots(),
+                                buffer.getLong(dayRecord + 12) | occupancy.getHighSlots());
+    }
+
+    /**
+     * Checks whether a timeframe is free on the provided day without decoding any tasks.
+     * Timeframes running into the next day must be free on both days.
+     * @param date The date the timeframe starts on.
+     * @param timeframe The timeframe to check.
+     * @return True if no task occupies any part of the timeframe, false otherwise.
+     */
+    public boolean isFree(Date date, Timeframe timeframe)
+    {
+        if (timeframe.getNextDayRunoff() > 0)
+            return getOccupancy(date).isFree(timeframe.truncate(false))
+                   && getOccupancy(date.getNextDay()).isFree(timeframe.truncate(true));
+        return getOccupancy(date).isFree(timeframe);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of merging two schedules, holding either the merged
+ * schedule or every conflict that prevented the merge.
+ */
+public final class MergeResult
+{
+    private final Schedule schedule;
+    private final List<TaskConflict> conflicts;
+
+    /**
+     * Initializes a merge result.
+     * @param schedule The merged schedule, or null if there were conflicts.
+     * @param conflicts The conflicts found, ordered by date.
+     */
+    MergeResult(Schedule schedule, List<TaskConflict> conflicts)
+    {
+        this.schedule = schedule;
+        this.conflicts = Collections.unmodifiableList(conflicts);
+    }
+
+    /**
+     * Checks whether the schedules were merged.
+     * @return True if there were no conflicts, false otherwise.
+     */
+    public boolean isSuccessful()
+    {
+        return conflicts.isEmpty();
+    }
+
+    /**
+     * Gets the merged schedule.
+     * @return The merged schedule, or null if there were conflicts.
+     */
+    public Schedule getSchedule()
+    {
+        return schedule;
+    }
+
+    /**
+     * Gets every conflict found while merging.
+     * @return A read-only list of conflicts ordered by date, empty if the merge succeeded.
+     */
+    public List<TaskConflict> getConflicts()
+    {
+        return conflicts;
+    }
+}
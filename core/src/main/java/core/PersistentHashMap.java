@@ -0,0 +1,462 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable hash map stored as a hash array mapped trie.
+ * Adding or removing a key copies only the path of nodes leading to it,
+ * so every older version of the map stays valid and shares the rest of its nodes.
+ * Each node uses 5 bits of the key hash to pick one of up to 32 children,
+ * and keys with identical hashes share a collision node at the bottom of the trie.
+ *
+ * @param <K> The type of the keys, which must not be null.
+ * @param <V> The type of the values.
+ */
+final class PersistentHashMap<K, V> implements Iterable<Map.Entry<K, V>>
+{
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * Initializes a map from its root node.
+     * @param root The root node, or null if the map is empty.
+     * @param size The number of entries in the map.
+     */
+    private PersistentHashMap(Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty map.
+     * @return A map without any entries.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty()
+    {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Gets the value associated with a key.
+     * @param key The key to look up.
+     * @return The associated value, or null if the key is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key)
+    {
+        if (root == null || key == null)
+            return null;
+        return (V) root.find(0, hash(key), key);
+    }
+
+    /**
+     * Checks whether a key is in the map.
+     * @param key The key to look up.
+     * @return True if the key is in the map, false otherwise.
+     */
+    boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates a value with a key.
+     * @param key The key.
+     * @param value The value, which must not be null.
+     * @return A map with the association, or this map if it already had it.
+     */
+    PersistentHashMap<K, V> put(K key, V value)
+    {
+        boolean[] added = new boolean[1];
+        Node newRoot = (root == null ? BitmapNode.EMPTY : root).put(0, hash(key), key, value, added);
+        if (newRoot == root)
+            return this;
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Removes the association of a key.
+     * @param key The key to remove.
+     * @return A map without the key, or this map if it did not have the key.
+     */
+    PersistentHashMap<K, V> remove(Object key)
+    {
+        if (root == null || key == null)
+            return this;
+        Node newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root)
+            return this;
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Gets the number of entries in the map.
+     * @return The size of the map.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks whether the map has no entries.
+     * @return True if the map is empty, false otherwise.
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Gets a read-only view of the keys in the map.
+     * @return A set of every key in the map.
+     */
+    AbstractSet<K> keySet()
+    {
+        return new AbstractSet<K>()
+        {
+            @Override
+            public Iterator<K> iterator()
+            {
+                Iterator<Map.Entry<K, V>> entries = PersistentHashMap.this.iterator();
+                return new Iterator<K>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public K next()
+                    {
+                        return entries.next().getKey();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object key)
+            {
+                return containsKey(key);
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates over every entry of the map in no particular order.
+     * @return An iterator over the entries of the map.
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator()
+    {
+        return new EntryIterator<>(root);
+    }
+
+    /**
+     * Spreads the higher bits of a key hash into the lower ones,
+     * which are used first to pick children.
+     * @param key The key.
+     * @return The hash of the key.
+     */
+    private static int hash(Object key)
+    {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A node of the trie. Entries are stored in pairs of array elements,
+     * either a key and its value or null and a child node.
+     */
+    private abstract static class Node
+    {
+        final Object[] array;
+
+        Node(Object[] array)
+        {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        abstract Node remove(int shift, int hash, Object key);
+    }
+
+    /**
+     * A node with a child or entry for each set bit of its bitmap.
+     */
+    private static final class BitmapNode extends Node
+    {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array)
+        {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key)
+        {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0)
+                return null;
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object existingKey = array[index];
+            if (existingKey == null)
+                return ((Node) array[index + 1]).find(shift + 5, hash, key);
+            return key.equals(existingKey) ? array[index + 1] : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added)
+        {
+            int bit = 1 << ((hash >>> shift) & 31);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0)
+            {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object existingKey = array[index];
+            Object existingValue = array[index + 1];
+            Object newValue;
+            if (existingKey == null)
+            {
+                newValue = ((Node) existingValue).put(shift + 5, hash, key, value, added);
+                if (newValue == existingValue)
+                    return this;
+            }
+            else if (key.equals(existingKey))
+            {
+                if (value == existingValue)
+                    return this;
+                newValue = value;
+            }
+            else
+            {
+                // Move both entries into a new child node.
+                added[0] = true;
+                Object[] newArray = array.clone();
+                newArray[index] = null;
+                newArray[index + 1] = createNode(shift + 5, existingKey, existingValue, hash, key, value);
+                return new BitmapNode(bitmap, newArray);
+            }
+            Object[] newArray = array.clone();
+            newArray[index + 1] = newValue;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key)
+        {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0)
+                return this;
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object existingKey = array[index];
+            if (existingKey == null)
+            {
+                Node child = (Node) array[index + 1];
+                Node newChild = child.remove(shift + 5, hash, key);
+                if (newChild == child)
+                    return this;
+                if (newChild != null)
+                {
+                    Object[] newArray = array.clone();
+                    newArray[index + 1] = newChild;
+                    return new BitmapNode(bitmap, newArray);
+                }
+            }
+            else if (!key.equals(existingKey))
+                return this;
+            if (bitmap == bit)
+                return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new BitmapNode(bitmap ^ bit, newArray);
+        }
+
+        /**
+         * Creates a node holding two entries with different keys.
+         */
+        private static Node createNode(int shift, Object key1, Object value1, int hash2, Object key2, Object value2)
+        {
+            int hash1 = hash(key1);
+            if (hash1 == hash2)
+                return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+            boolean[] added = new boolean[1];
+            return EMPTY.put(shift, hash1, key1, value1, added).put(shift, hash2, key2, value2, added);
+        }
+    }
+
+    /**
+     * A node holding every entry whose key has one particular hash.
+     */
+    private static final class CollisionNode extends Node
+    {
+        final int hash;
+
+        CollisionNode(int hash, Object[] array)
+        {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key)
+        {
+            int index = indexOf(key);
+            return (index < 0) ? null : array[index + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added)
+        {
+            if (hash != this.hash)
+            {
+                // Nest this node in a bitmap node so the new key can branch off.
+                BitmapNode parent = new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[] { null, this });
+                return parent.put(shift, hash, key, value, added);
+            }
+            int index = indexOf(key);
+            if (index >= 0)
+            {
+                if (array[index + 1] == value)
+                    return this;
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+            Object[] newArray = Arrays.copyOf(array, array.length + 2);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key)
+        {
+            int index = indexOf(key);
+            if (index < 0)
+                return this;
+            if (array.length == 2)
+                return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < array.length; i += 2)
+            {
+                if (key.equals(array[i]))
+                    return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Walks the trie depth first, keeping the position within each node on the path.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>>
+    {
+        // Seven levels of bitmap nodes use up the hash, plus a collision node.
+        private final Object[][] arrays = new Object[8][];
+        private final int[] indexes = new int[8];
+        private int depth;
+        private Map.Entry<K, V> next;
+
+        EntryIterator(Node root)
+        {
+            if (root == null)
+                depth = -1;
+            else
+                arrays[0] = root.array;
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance()
+        {
+            next = null;
+            while (depth >= 0)
+            {
+                Object[] array = arrays[depth];
+                int index = indexes[depth];
+                if (index >= array.length)
+                {
+                    depth--;
+                    continue;
+                }
+                indexes[depth] = index + 2;
+                if (array[index] == null)
+                {
+                    depth++;
+                    arrays[depth] = ((Node) array[index + 1]).array;
+                    indexes[depth] = 0;
+                }
+                else
+                {
+                    next = new AbstractMap.SimpleImmutableEntry<>((K) array[index], (V) array[index + 1]);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next()
+        {
+            if (next == null)
+                throw new NoSuchElementException();
+            Map.Entry<K, V> entry = next;
+            advance();
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+/**
+ * An immutable hash set backed by a persistent hash map,
+ * so adding or removing an element shares most of the structure with the original set.
+ * The set can be handed out directly as a read-only set.
+ *
+ * @param <E> The type of the elements, which must not be null.
+ */
+final class PersistentHashSet<E> extends AbstractSet<E>
+{
+    private static final PersistentHashSet<?> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    private final PersistentHashMap<E, E> elements;
+
+    /**
+     * Initializes a set from the map of its elements to themselves.
+     * @param elements The elements of the set.
+     */
+    private PersistentHashSet(PersistentHashMap<E, E> elements)
+    {
+        this.elements = elements;
+    }
+
+    /**
+     * Gets the empty set.
+     * @return A set without any elements.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentHashSet<E> empty()
+    {
+        return (PersistentHashSet<E>) EMPTY;
+    }
+
+    /**
+     * Adds an element.
+     * @param element The element to add.
+     * @return A set with the element, or this set if it already had the element.
+     */
+    PersistentHashSet<E> plus(E element)
+    {
+        PersistentHashMap<E, E> newElements = elements.put(element, element);
+        return (newElements == elements) ? this : new PersistentHashSet<>(newElements);
+    }
+
+    /**
+     * Removes an element.
+     * @param element The element to remove.
+     * @return A set without the element, or this set if it did not have the element.
+     */
+    PersistentHashSet<E> minus(Object element)
+    {
+        PersistentHashMap<E, E> newElements = elements.remove(element);
+        if (newElements == elements)
+            return this;
+        return newElements.isEmpty() ? empty() : new PersistentHashSet<>(newElements);
+    }
+
+    /**
+     * Checks whether an element is in the set.
+     * @param element The element to check.
+     * @return True if the element is in the set, false otherwise.
+     */
+    @Override
+    public boolean contains(Object element)
+    {
+        return element != null && elements.containsKey(element);
+    }
+
+    /**
+     * Iterates over every element of the set in no particular order.
+     * @return An iterator over the elements of the set.
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        return elements.keySet().iterator();
+    }
+
+    /**
+     * Gets the number of elements in the set.
+     * @return The size of the set.
+     */
+    @Override
+    public int size()
+    {
+        return elements.size();
+    }
+}
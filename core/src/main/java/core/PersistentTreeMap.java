@@ -0,0 +1,338 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable sorted map stored as a treap, a binary search tree ordered by key
+ * and kept balanced by giving each key a pseudorandom priority that parents must exceed.
+ * Adding or removing a key copies only the path of nodes leading to it,
+ * so every older version of the map stays valid and shares the rest of its nodes.
+ *
+ * @param <K> The type of the keys, which must not be null.
+ * @param <V> The type of the values.
+ */
+final class PersistentTreeMap<K extends Comparable<? super K>, V> implements Iterable<Map.Entry<K, V>>
+{
+    private static final PersistentTreeMap<?, ?> EMPTY = new PersistentTreeMap<>(null, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    /**
+     * Initializes a map from its root node.
+     * @param root The root node, or null if the map is empty.
+     * @param size The number of entries in the map.
+     */
+    private PersistentTreeMap(Node<K, V> root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty map.
+     * @return A map without any entries.
+     */
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<? super K>, V> PersistentTreeMap<K, V> empty()
+    {
+        return (PersistentTreeMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Gets the value associated with a key.
+     * @param key The key to look up.
+     * @return The associated value, or null if the key is not in the map.
+     */
+    V get(K key)
+    {
+        Node<K, V> node = root;
+        while (node != null)
+        {
+            int comparison = key.compareTo(node.key);
+            if (comparison == 0)
+                return node.value;
+            node = (comparison < 0) ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a key is in the map.
+     * @param key The key to look up.
+     * @return True if the key is in the map, false otherwise.
+     */
+    boolean containsKey(K key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates a value with a key.
+     * @param key The key.
+     * @param value The value, which must not be null.
+     * @return A map with the association, or this map if it already had it.
+     */
+    PersistentTreeMap<K, V> put(K key, V value)
+    {
+        boolean[] added = new boolean[1];
+        Node<K, V> newRoot = put(root, key, value, priority(key), added);
+        if (newRoot == root)
+            return this;
+        return new PersistentTreeMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Removes the association of a key.
+     * @param key The key to remove.
+     * @return A map without the key, or this map if it did not have the key.
+     */
+    PersistentTreeMap<K, V> remove(K key)
+    {
+        Node<K, V> newRoot = remove(root, key);
+        if (newRoot == root)
+            return this;
+        return new PersistentTreeMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Gets the number of entries in the map.
+     * @return The size of the map.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks whether the map has no entries.
+     * @return True if the map is empty, false otherwise.
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Gets a read-only view of the keys in the map, iterated in order.
+     * @return A set of every key in the map.
+     */
+    @SuppressWarnings("unchecked")
+    AbstractSet<K> keySet()
+    {
+        return new AbstractSet<K>()
+        {
+            @Override
+            public Iterator<K> iterator()
+            {
+                Iterator<Map.Entry<K, V>> entries = PersistentTreeMap.this.iterator();
+                return new Iterator<K>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public K next()
+                    {
+                        return entries.next().getKey();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object key)
+            {
+                try
+                {
+                    return key != null && containsKey((K) key);
+                }
+                catch (ClassCastException e)
+                {
+                    return false;
+                }
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates over every entry of the map in key order.
+     * @return An iterator over the entries of the map.
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator()
+    {
+        return new EntryIterator<>(root, null);
+    }
+
+    /**
+     * Iterates in key order over the entries with keys greater than or equal to the given one.
+     * @param from The smallest key to include.
+     * @return An iterator over the entries from the given key onward.
+     */
+    Iterator<Map.Entry<K, V>> iteratorFrom(K from)
+    {
+        return new EntryIterator<>(root, from);
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> put(Node<K, V> node, K key, V value,
+                                                                        int priority, boolean[] added)
+    {
+        if (node == null)
+        {
+            added[0] = true;
+            return new Node<>(key, value, priority, null, null);
+        }
+        int comparison = key.compareTo(node.key);
+        if (comparison == 0)
+        {
+            if (node.value == value)
+                return node;
+            return new Node<>(node.key, value, node.priority, node.left, node.right);
+        }
+        if (comparison < 0)
+        {
+            Node<K, V> left = put(node.left, key, value, priority, added);
+            if (left == node.left)
+                return node;
+            // Rotate the new node above this one if it has the higher priority.
+            if (left.priority > node.priority)
+                return new Node<>(left.key, left.value, left.priority, left.left,
+                                  new Node<>(node.key, node.value, node.priority, left.right, node.right));
+            return new Node<>(node.key, node.value, node.priority, left, node.right);
+        }
+        Node<K, V> right = put(node.right, key, value, priority, added);
+        if (right == node.right)
+            return node;
+        if (right.priority > node.priority)
+            return new Node<>(right.key, right.value, right.priority,
+                              new Node<>(node.key, node.value, node.priority, node.left, right.left), right.right);
+        return new Node<>(node.key, node.value, node.priority, node.left, right);
+    }
+
+    private static <K extends Comparable<? super K>, V> Node<K, V> remove(Node<K, V> node, K key)
+    {
+        if (node == null)
+            return null;
+        int comparison = key.compareTo(node.key);
+        if (comparison == 0)
+            return join(node.left, node.right);
+        if (comparison < 0)
+        {
+            Node<K, V> left = remove(node.left, key);
+            if (left == node.left)
+                return node;
+            return new Node<>(node.key, node.value, node.priority, left, node.right);
+        }
+        Node<K, V> right = remove(node.right, key);
+        if (right == node.right)
+            return node;
+        return new Node<>(node.key, node.value, node.priority, node.left, right);
+    }
+
+    /**
+     * Joins two treaps where every key of the first is less than every key of the second.
+     */
+    private static <K extends Comparable<? super K>, V> Node<K, V> join(Node<K, V> left, Node<K, V> right)
+    {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+        if (left.priority > right.priority)
+            return new Node<>(left.key, left.value, left.priority, left.left, join(left.right, right));
+        return new Node<>(right.key, right.value, right.priority, join(left, right.left), right.right);
+    }
+
+    /**
+     * Derives the priority of a key from its hash, scrambling the bits so
+     * keys with consecutive hashes such as dates do not form a list.
+     */
+    private static int priority(Object key)
+    {
+        int h = key.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    private static final class Node<K, V>
+    {
+        final K key;
+        final V value;
+        final int priority;
+        final Node<K, V> left, right;
+
+        Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right)
+        {
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Walks the tree in order, keeping the nodes whose right subtrees are still to be visited.
+     */
+    private static final class EntryIterator<K extends Comparable<? super K>, V> implements Iterator<Map.Entry<K, V>>
+    {
+        private final Deque<Node<K, V>> path = new ArrayDeque<>();
+
+        EntryIterator(Node<K, V> root, K from)
+        {
+            Node<K, V> node = root;
+            while (node != null)
+            {
+                if (from == null || from.compareTo(node.key) <= 0)
+                {
+                    path.push(node);
+                    node = node.left;
+                }
+                else
+                    node = node.right;
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Map.Entry<K, V> next()
+        {
+            if (path.isEmpty())
+                throw new NoSuchElementException();
+            Node<K, V> node = path.pop();
+            for (Node<K, V> child = node.right; child != null; child = child.left)
+                path.push(child);
+            return new AbstractMap.SimpleImmutableEntry<>(node.key, node.value);
+        }
+    }
+}
@@ -0,0 +1,581 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A task that occurs on given weekdays at a certain time within a range of
+ * dates. The occurences are described by a rule (starting date, ending date,
+ * frequency and cancelled dates) rather than stored, so they can be
+ * calculated for any date without generating the whole range.
+ */
+public class RecurringTask extends Task
+{
+    public static final String[] validCategories = { "Class", "Study", "Sleep", "Exercise", "Work", "Meal" };
+
+    private Date startingDate, endingDate;
+    private TaskFrequency frequency;
+
+    // Anti-Tasks By The Date Of The Occurence They Cancel, Replaced Atomically On Every Change So Readers Never See It Change
+    private final AtomicReference<PersistentTreeMap<Date, AntiTask>> antiTasks;
+
+    // Read-Only Timeframes Shared By Every Day With An Occurence, A Runoff From The Previous Day, Or Both
+    private Set<Timeframe> occurenceTimeframes, runoffTimeframes, combinedTimeframes;
+
+    /**
+     * Initializes a recurring task.
+     * 
+     * @param taskName      The name of the task.
+     * @param category      The name of the category this task is part of.
+     * @param timeframe     The timeframe of the task.
+     * @param startingDate  The date this task becomes active.
+     * @param endingDate    The last date this task could be scheduled.
+     * @param frequency The number of days between each occurence of the task.
+     * @throws InvalidTaskException If the provided category is not valid.
+     */
+    public RecurringTask(String taskName, String category, Timeframe timeframe, Date startingDate, Date endingDate,
+            TaskFrequency frequency) 
+    {
+        super(taskName, category, timeframe);
+        this.startingDate = startingDate;
+        this.endingDate = endingDate;
+        this.frequency = frequency;
+        this.antiTasks = new AtomicReference<>(PersistentTreeMap.empty());
+        generateDailyTimeframes();
+    }
+
+    /**
+     * Generates the sets of timeframes this task can have on a single day,
+     * so daily lookups can share them instead of building new sets.
+     * This method must be called again if changes are made to the task times.
+     */
+    private void generateDailyTimeframes()
+    {
+        Timeframe timeframe = getGeneralTimeframe();
+        if (timeframe.getNextDayRunoff() > 0)
+        {
+            Timeframe occurenceTimeframe = timeframe.truncate(false);
+            Timeframe runoffTimeframe = timeframe.truncate(true);
+            occurenceTimeframes = Collections.singleton(occurenceTimeframe);
+            runoffTimeframes = Collections.singleton(runoffTimeframe);
+            combinedTimeframes = Collections.unmodifiableSet(new TreeSet<>(Arrays.asList(runoffTimeframe,
+                                                                                         occurenceTimeframe)));
+        }
+        else
+        {
+            occurenceTimeframes = Collections.singleton(timeframe);
+            runoffTimeframes = null;
+            combinedTimeframes = null;
+        }
+    }
+
+    /**
+     * Checks whether a task is active on a particular date.
+     * 
+     * @param date A date object representing the date to check.
+     * @return True if the task is active on the specified day, false otherwise.
+     */
+    @Override
+    public boolean isActiveOn(Date date)
+    {
+        if (isScheduledOn(date))
+            return true;
+        return getGeneralTimeframe().getNextDayRunoff() > 0 && isScheduledOn(date.getPreviousDay());
+    }
+
+    /**
+     * Gets the read-only timeframes of this task specific to a particular day.
+     * The times are calculated from the recurrence rule rather than
+     * looked up, so no occurences have to be generated beforehand.
+     * 
+     * @param date The date to get the active timeframes for.
+     * @return The timeframes specific to the particular day
+     *         or null if the task has no times on the given day.
+     */
+    @Override
+    public Set<Timeframe> getDailyTimeframes(Date date)
+    {
+        boolean hasRunoff = runoffTimeframes != null && isScheduledOn(date.getPreviousDay());
+        if (isScheduledOn(date))
+            return hasRunoff ? combinedTimeframes : occurenceTimeframes;
+        return hasRunoff ? runoffTimeframes : null;
+    }
+
+    /**
+     * Determines whether this task and the given one conflict.
+     * Only the dates both tasks could be active on are checked,
+     * and other kinds of tasks are checked from their own few dates.
+     * 
+     * @param task The task to compare against.
+     * @return True if the tasks conflict, false otherwise.
+     */
+    @Override
+    public boolean conflictsWith(Task task)
+    {
+        if (!(task instanceof RecurringTask))
+            return task.conflictsWith(this);
+        RecurringTask otherTask = (RecurringTask) task;
+        Date from = startingDate.compareTo(otherTask.startingDate) > 0 ? startingDate : otherTask.startingDate;
+        Date to = getLastActiveDate().compareTo(otherTask.getLastActiveDate()) < 0 ? getLastActiveDate()
+                                                                                     : otherTask.getLastActiveDate();
+        if (from.compareTo(to) > 0)
+            return false;
+        for (Map.Entry<Date, Set<Timeframe>> entry : getScheduledTimes(from, to).entrySet())
+        {
+            Set<Timeframe> otherTimeframes = otherTask.getDailyTimeframes(entry.getKey());
+            if (otherTimeframes != null && conflictsWith(entry.getValue(), otherTimeframes))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an occurence of this task begins on a particular date.
+     * Occurences cancelled by an anti-task are not considered scheduled.
+     * 
+     * @param date The date to check.
+     * @return True if an occurence of the task starts on the given date, false otherwise.
+     */
+    public boolean isScheduledOn(Date date)
+    {
+        return isOccurence(date) && !antiTasks.get().containsKey(date);
+    }
+
+    /**
+     * Checks whether the recurrence rule places an occurence on a particular date,
+     * regardless of any anti-tasks.
+     * 
+     * @param date The date to check.
+     * @return True if the recurrence rule includes the date, false otherwise.
+     */
+    private boolean isOccurence(Date date)
+    {
+        if (date.compareTo(startingDate) < 0 || date.compareTo(endingDate) > 0)
+            return false;
+        if (frequency == TaskFrequency.DAILY)
+            return true;
+        else if (frequency == TaskFrequency.WEEKLY)
+            return startingDate.getDaysUntil(date) % 7 == 0;
+        else
+            return date.getDay() == getMonthlyDay(startingDate.getMonthsUntil(date));
+    }
+
+    /**
+     * Gets the day of the month a monthly task falls on a given number of months
+     * after its starting date. Each occurence uses the day of the previous one, limited
+     * to the maximum day of its month, so a task starting on the 31st moves to
+     * the 28th or 29th after February and stays there.
+     * 
+     * @param monthOffset The number of months after the starting date.
+     * @return The day of the month of that occurence.
+     */
+    private int getMonthlyDay(int monthOffset)
+    {
+        int day = startingDate.getDay();
+        // Any 24 consecutive months include a February of a non-leap year.
+        if (monthOffset >= 24)
+            return Math.min(day, 28);
+        int month = startingDate.getMonth();
+        int year = startingDate.getYear();
+        for (int i = 0; i < monthOffset && day > 28; i++)
+        {
+            month = (month == 12) ? 1 : month + 1;
+            year = (month == 1) ? year + 1 : year;
+            day = Math.min(day, Date.getMaxDay(month, year));
+        }
+        return day;
+    }
+
+    /**
+     * Gets the first date on or after the given one that the recurrence rule places an occurence on.
+     * 
+     * @param date The earliest date to consider.
+     * @return The date of the first occurence, which may be past the ending date.
+     */
+    private Date getFirstOccurenceFrom(Date date)
+    {
+        if (date.compareTo(startingDate) <= 0)
+            return startingDate;
+        if (frequency == TaskFrequency.DAILY)
+            return date;
+        else if (frequency == TaskFrequency.WEEKLY)
+        {
+            int daysPastOccurence = startingDate.getDaysUntil(date) % 7;
+            return (daysPastOccurence == 0) ? date : date.plusDays(7 - daysPastOccurence);
+        }
+        else
+        {
+            int monthOffset = startingDate.getMonthsUntil(date);
+            Date occurence = new Date(date.getMonth(), getMonthlyDay(monthOffset), date.getYear());
+            return (occurence.compareTo(date) < 0) ? occurence.getNextMonth() : occurence;
+        }
+    }
+
+    /**
+     * Gets the occurence following the given one.
+     * 
+     * @param occurence The date of an occurence of the task.
+     * @return The date of the next occurence, which may be past the ending date.
+     */
+    private Date getNextOccurence(Date occurence)
+    {
+        if (frequency == TaskFrequency.DAILY)
+            return occurence.getNextDay();
+        else if (frequency == TaskFrequency.WEEKLY)
+            return occurence.plusDays(7);
+        else
+            return occurence.getNextMonth();
+    }
+
+    /**
+     * Determines whether an anti-task affects this recurring task on a
+     * particular date.
+     * CAUTION: A recurring task may still be active on dates with an anti-task if
+     *          the recurring task has multiple timeframes on that date!
+     * 
+     * @param date The date to check.
+     * @return True if an anti-task is active on this date, false otherwise.
+     */
+    public boolean hasAntiTaskOn(Date date)
+    {
+        PersistentTreeMap<Date, AntiTask> currentAntiTasks = antiTasks.get();
+        if (currentAntiTasks.containsKey(date))
+            return true;
+        // An anti-task cancelling an occurence that runs past midnight is active on the next day as well.
+        return runoffTimeframes != null && currentAntiTasks.containsKey(date.getPreviousDay());
+    }
+
+    /**
+     * Returns a read-only set of the dates on which this recurring task is affected by
+     * an anti-task, in order, which later changes to the anti-tasks do not affect.
+     * CAUTION: A recurring task may still be active on these dates if the recurring
+     *          task has multiple timeframes on that date!
+     * 
+     * @return A set of dates on which the recurring task is affected by an anti-task.
+     */
+    public Set<Date> getAntiTaskDates()
+    {
+        return antiTasks.get().keySet();
+    }
+
+    /**
+     * Returns a read-only set of the anti-tasks attached to this recurring task,
+     * ordered by the date they cancel, which later changes to the anti-tasks do not affect.
+     * @return A set of applicable anti-tasks.
+     */
+    public Set<AntiTask> getAntiTasks()
+    {
+        PersistentTreeMap<Date, AntiTask> currentAntiTasks = antiTasks.get();
+        return new AbstractSet<AntiTask>()
+        {
+            @Override
+            public Iterator<AntiTask> iterator()
+            {
+                Iterator<Map.Entry<Date, AntiTask>> entries = currentAntiTasks.iterator();
+                return new Iterator<AntiTask>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public AntiTask next()
+                    {
+                        return entries.next().getValue();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object task)
+            {
+                return task instanceof AntiTask && currentAntiTasks.get(((AntiTask) task).getActiveDate()) == task;
+            }
+
+            @Override
+            public int size()
+            {
+                return currentAntiTasks.size();
+            }
+        };
+    }
+
+    /**
+     * Attaches an anti-task to the recurring task.
+     * If the anti-task is valid, the occurence of this recurring task
+     * corresponding to the anti-task is canceled.
+     * CAUTION: Do not independently call this method, the schedule must
+     *          be updated to properly reflect these changes.
+     * 
+     * @param antiTask The anti-task to attach to the recurring task.
+     * @return A set of affected dates along with updated timeframes.
+     *         This allows us to only modify the necessary dates in the schedule.
+     * @throws InvalidTaskException If the anti-task does not exactly cancel a
+     *                              occurence of the recurring task or that
+     *                              occurence has already been canceled by an
+     *                              existing anti-task.
+     */
+    public Map<Date, Set<Timeframe>> addAntiTask(AntiTask antiTask)
+    {
+        Date antiTaskDate = antiTask.getActiveDate();
+        Timeframe antiTaskTimeframe = antiTask.getGeneralTimeframe();
+        // Anti-tasks on other dates may be added at the same time, so the check and the change are retried together.
+        antiTasks.updateAndGet(currentAntiTasks ->
+        {
+            AntiTask existingAntiTask = currentAntiTasks.get(antiTaskDate);
+            if (existingAntiTask != null)
+                throw new InvalidTaskException("An anti-task " + existingAntiTask.getTaskName()
+                        + " already cancels the recurring task " + getTaskName() + " on this date.");
+            if (!isOccurence(antiTaskDate))
+            {
+                throw new InvalidTaskException("The recurring task " + getTaskName()
+                        + " is not active on the date of the anti-task " + antiTask.getTaskName() + ".");
+            }
+            if (!getGeneralTimeframe().equals(antiTaskTimeframe))
+            {
+                throw new InvalidTaskException("The recurring task " + getTaskName()
+                        + " has a different timeframe than the anti-task " + antiTask.getTaskName() + ".");
+            }
+            return currentAntiTasks.put(antiTaskDate, antiTask);
+        });
+        antiTask.setCancelledTask(this);
+        return getUpdatedTimes(antiTaskDate);
+    }
+
+    /**
+     * Detaches an anti-task from this recurring task.
+     * If the anti-task is valid, the occurence of this recurring task
+     * corresponding to the anti-task is restored.
+     * CAUTION: Do not independently call this method, the schedule must
+     *          be updated to properly reflect these changes.
+     * 
+     * @param antiTask The anti-task to attach to the recurring task.
+     * @return A set of affected dates along with updated timeframes.
+     *         This allows us to only modify the necessary dates in the schedule.
+     * @throws InvalidTaskException If the anti-task does not exactly cancel a
+     *                              occurence of the recurring task or that
+     *                              occurence has already been canceled by an
+     *                              existing anti-task.
+     */
+    public Map<Date, Set<Timeframe>> removeAntiTask(AntiTask antiTask)
+    {
+        Date date = antiTask.getActiveDate();
+        antiTasks.updateAndGet(currentAntiTasks ->
+        {
+            if (currentAntiTasks.get(date) != antiTask)
+            {
+                throw new InvalidTaskException("The anti-task " + antiTask.getTaskName() + " does not apply to "
+                                               + getTaskName() + " and cannot be removed from it!");
+            }
+            return currentAntiTasks.remove(date);
+        });
+        antiTask.setCancelledTask(null);
+        return getUpdatedTimes(date);
+    }
+
+    /**
+     * Gets the timeframes of the dates affected by cancelling or restoring the occurence
+     * starting on the given date.
+     * 
+     * @param date The date the affected occurence starts on.
+     * @return The affected dates along with their current timeframes,
+     *         where dates without any remaining timeframes map to an empty set.
+     */
+    private Map<Date, Set<Timeframe>> getUpdatedTimes(Date date)
+    {
+        Map<Date, Set<Timeframe>> updatedTimes = new HashMap<>();
+        addUpdatedTimes(updatedTimes, date);
+        if (getGeneralTimeframe().getNextDayRunoff() > 0)
+            addUpdatedTimes(updatedTimes, date.getNextDay());
+        return updatedTimes;
+    }
+
+    /**
+     * Adds the current timeframes of a single date to a set of updated times.
+     * 
+     * @param updatedTimes The updated times to add to.
+     * @param date The date to add.
+     */
+    private void addUpdatedTimes(Map<Date, Set<Timeframe>> updatedTimes, Date date)
+    {
+        Set<Timeframe> dailyTimeframes = getDailyTimeframes(date);
+        updatedTimes.put(date, (dailyTimeframes != null) ? dailyTimeframes : Collections.emptySet());
+    }
+
+    /**
+     * Gets the starting date.
+     * 
+     * @return The date this task becomes active.
+     */
+    public Date getStartingDate()
+    {
+        return startingDate;
+    }
+
+    /**
+     * Gets the ending date.
+     * 
+     * @return The last date this task is active.
+     */
+    public Date getEndingDate()
+    {
+        return endingDate;
+    }
+
+    /**
+     * Gets the last date this task could occupy, including the runoff
+     * of an occurence on the ending date into the next day.
+     * 
+     * @return The last date this task could be active.
+     */
+    private Date getLastActiveDate()
+    {
+        return (runoffTimeframes != null) ? endingDate.getNextDay() : endingDate;
+    }
+
+    /**
+     * Gets the frequency of the task.
+     * 
+     * @return The frequency of the task.
+     */
+    public TaskFrequency getFrequency()
+    {
+        return frequency;
+    }
+
+    /**
+     * Returns the dates and corresponding timeframes this task
+     * will be active. Tasks that extend into a second day
+     * have been accounted for and their timeframes have been truncated
+     * according to each of the applicable days.
+     * CAUTION: The occurences are generated on every call, prefer
+     *          getScheduledTimes(Date, Date) or getDailyTimeframes(Date)
+     *          when only part of the task is needed.
+     * 
+     * @return Every date and timeframe this task will be active.
+     */
+    @Override
+    public Map<Date, Set<Timeframe>> getScheduledTimes()
+    {
+        return getScheduledTimes(startingDate, getLastActiveDate());
+    }
+
+    /**
+     * Returns the dates and corresponding timeframes this task will be
+     * active within a window of dates, generating only the occurences needed.
+     * 
+     * @param from The first date of the window.
+     * @param to The last date of the window.
+     * @return Every date within the window along with the timeframes this task will be active.
+     */
+    public Map<Date, Set<Timeframe>> getScheduledTimes(Date from, Date to)
+    {
+        Map<Date, Set<Timeframe>> scheduledTimes = new HashMap<>();
+        PersistentTreeMap<Date, AntiTask> cancelledOccurences = antiTasks.get();
+        boolean hasRunoff = runoffTimeframes != null;
+        // An occurence the day before the window may run into it.
+        Date currentDate = getFirstOccurenceFrom(hasRunoff ? from.getPreviousDay() : from);
+        while (currentDate.compareTo(endingDate) <= 0 && currentDate.compareTo(to) <= 0)
+        {
+            if (!cancelledOccurences.containsKey(currentDate))
+            {
+                addDailyTimeframes(scheduledTimes, currentDate, from, to);
+                if (hasRunoff)
+                    addDailyTimeframes(scheduledTimes, currentDate.getNextDay(), from, to);
+            }
+            currentDate = getNextOccurence(currentDate);
+        }
+        return scheduledTimes;
+    }
+
+    /**
+     * Gets every date an occurence of this task could occupy, including cancelled occurences.
+     * The dates only depend on the recurrence rule, so they stay the same as anti-tasks are added or removed.
+     * 
+     * @return The dates of every occurence and the days they run into.
+     */
+    List<Date> getOccurenceDates()
+    {
+        List<Date> dates = new ArrayList<>();
+        boolean hasRunoff = runoffTimeframes != null;
+        for (Date currentDate = startingDate; currentDate.compareTo(endingDate) <= 0;
+             currentDate = getNextOccurence(currentDate))
+        {
+            dates.add(currentDate);
+            if (hasRunoff)
+                dates.add(currentDate.getNextDay());
+        }
+        return dates;
+    }
+
+    /**
+     * Adds the daily timeframes of the corresponding date if the date falls within a window.
+     * 
+     * @param scheduledTimes The mapping of dates to timeframes to add to.
+     * @param date The date to add.
+     * @param from The first date of the window.
+     * @param to The last date of the window.
+     */
+    private void addDailyTimeframes(Map<Date, Set<Timeframe>> scheduledTimes, Date date, Date from, Date to)
+    {
+        if (date.compareTo(from) < 0 || date.compareTo(to) > 0)
+            return;
+        scheduledTimes.put(date, getDailyTimeframes(date));
+    }
+
+    /**
+     * Gets an array of valid categories for the task.
+     * 
+     * @return An array of valid categories for the task.
+     */
+    @Override
+    public String[] getValidCategories()
+    {
+        return validCategories;
+    }
+
+    /**
+     * Writes a JSON object with the properties corresponding to
+     * the recurring task.
+     *
+     * @param writer The writer to write the object to.
+     * @throws IOException If the object cannot be written.
+     */
+    @Override
+    public void writeJson(JsonWriter writer) throws IOException
+    {
+        Timeframe timeframe = getGeneralTimeframe();
+        writer.beginObject();
+        writer.name("Name").value(getTaskName());
+        writer.name("Type").value(getCategory());
+        writer.name("StartDate").value(startingDate.getConcatenatedDate());
+        writer.name("StartTime").value(timeframe.getStartingTimeHours());
+        writer.name("Duration").value(timeframe.getDurationHours());
+        writer.name("EndDate").value(endingDate.getConcatenatedDate());
+        writer.name("Frequency").value(getFrequency().getValue());
+        writer.endObject();
+    }
+}
@@ -0,0 +1,1119 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A schedule keeps track of the complete list of tasks a user has scheduled.
+ * The schedule can use this information to compile a list of tasks on any specific date.
+ */
+public class Schedule
+{
+    // Daily Timeframes & Tasks, Including Duplicate References For Tasks On Multiple Days, Sorted By Date
+    private PersistentTreeMap<Date, DailyTimeline> timelines;
+
+    // Sets Of Every Scheduled Task
+    private PersistentHashSet<TransientTask> transientTasks;
+    private PersistentHashSet<RecurringTask> recurringTasks;
+    private PersistentHashSet<AntiTask> antiTasks;
+
+    // Organize Scheduled Tasks By Category For Quick Access
+    private PersistentHashMap<String, PersistentHashSet<Task>> categories;
+
+    // Organize Scheduled Tasks By Name For Quick Lookup & Searching
+    private PersistentHashMap<String, PersistentHashSet<Task>> taskNames;
+    private PersistentTreeMap<String, PersistentHashSet<Task>> sortedTaskNames;
+
+    // Daily Timelines Created By This Schedule Since It Was Last Copied Or Published, Which Can Be Changed In Place
+    private Object owner;
+
+    // The Latest Committed Version, Which Any Thread May Read
+    private volatile ScheduleSnapshot snapshot;
+
+    // Observers Of Changes & The Changes Made Since The Last Publish, Which Are Delivered Together
+    private final List<ScheduleListener> listeners;
+    private List<ScheduleChange> pendingChanges;
+
+    /**
+     * Initializes a schedule.
+     */
+    public Schedule()
+    {
+        timelines = PersistentTreeMap.empty();
+        transientTasks = PersistentHashSet.empty();
+        recurringTasks = PersistentHashSet.empty();
+        antiTasks = PersistentHashSet.empty();
+        categories = PersistentHashMap.empty();
+        taskNames = PersistentHashMap.empty();
+        sortedTaskNames = PersistentTreeMap.empty();
+        owner = new Object();
+        snapshot = ScheduleSnapshot.EMPTY;
+        listeners = new CopyOnWriteArrayList<>();
+        pendingChanges = new ArrayList<>();
+    }
+
+    /**
+     * Initializes a schedule (copy constructor).
+     * Both schedules share their structures until either one changes,
+     * so copying takes constant time no matter how many tasks are scheduled.
+     */
+    public Schedule(Schedule existingSchedule)
+    {
+        timelines = existingSchedule.timelines;
+        transientTasks = existingSchedule.transientTasks;
+        recurringTasks = existingSchedule.recurringTasks;
+        antiTasks = existingSchedule.antiTasks;
+        categories = existingSchedule.categories;
+        taskNames = existingSchedule.taskNames;
+        sortedTaskNames = existingSchedule.sortedTaskNames;
+        owner = new Object();
+        snapshot = existingSchedule.snapshot;
+        listeners = new CopyOnWriteArrayList<>();
+        pendingChanges = new ArrayList<>();
+        // The existing daily timelines are now shared, so the existing schedule must copy them before changes too.
+        existingSchedule.owner = new Object();
+    }
+
+    /**
+     * Gets the latest committed version of the schedule.
+     * Snapshots never change, so any thread may query them while another thread changes this schedule.
+     * 
+     * @return The snapshot published by the latest change.
+     */
+    public ScheduleSnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    /**
+     * Registers a listener to be told about every later change to this schedule.
+     * 
+     * @param listener The listener to add.
+     */
+    public void addListener(ScheduleListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops telling a listener about changes to this schedule.
+     * 
+     * @param listener The listener to remove.
+     */
+    public void removeListener(ScheduleListener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Publishes the current state of the schedule as a new snapshot.
+     * Every public method changing the schedule calls this once the change is complete.
+     * The daily timelines now belong to the snapshot, so later changes copy the dates they touch.
+     * The changes recorded since the last publish are then delivered to the listeners as one batch.
+     * The change is already committed by then, so a failing listener is reported instead of
+     * reaching the caller, which would otherwise skip whatever it does after the change.
+     */
+    private void publish()
+    {
+        snapshot = new ScheduleSnapshot(timelines, transientTasks, recurringTasks, antiTasks, categories, taskNames);
+        owner = new Object();
+        if (!pendingChanges.isEmpty())
+        {
+            List<ScheduleChange> changes = Collections.unmodifiableList(pendingChanges);
+            pendingChanges = new ArrayList<>();
+            ScheduleSnapshot published = snapshot;
+            for (ScheduleListener listener : listeners)
+            {
+                try
+                {
+                    listener.scheduleChanged(published, changes);
+                }
+                catch (RuntimeException e)
+                {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a change to deliver to the listeners with the next publish,
+     * affecting every date the task is scheduled on.
+     * Nothing is recorded while no one is listening.
+     * 
+     * @param type The kind of change.
+     * @param task The task added or removed.
+     */
+    private void recordChange(ScheduleChange.Type type, Task task)
+    {
+        if (!listeners.isEmpty())
+            pendingChanges.add(new ScheduleChange(type, task, task.getScheduledTimes().keySet()));
+    }
+
+    /**
+     * Records a change to deliver to the listeners with the next publish.
+     * Nothing is recorded while no one is listening.
+     * 
+     * @param type The kind of change.
+     * @param task The task added or removed.
+     * @param affectedDates The dates whose agenda changed.
+     */
+    private void recordChange(ScheduleChange.Type type, Task task, Iterable<Date> affectedDates)
+    {
+        if (!listeners.isEmpty())
+            pendingChanges.add(new ScheduleChange(type, task, affectedDates));
+    }
+
+    /**
+     * Adds a transient task to the schedule.
+     * 
+     * @param newTask The transient task to add to the schedule.
+     * @throws TaskConflictException If an existing task conflicts with the one being added.
+     */
+    public void addTask(TransientTask newTask)
+    {
+        generalAddTask(newTask);
+        transientTasks = transientTasks.plus(newTask);
+        recordChange(ScheduleChange.Type.TASK_ADDED, newTask);
+        publish();
+    }
+
+    /**
+     * Adds a recurring task to the schedule.
+     * 
+     * @param newTask The recurring task to add to the schedule.
+     * @throws TaskConflictException If an existing task conflicts with the one being added.
+     */
+    public void addTask(RecurringTask newTask)
+    {
+        generalAddTask(newTask);
+        recurringTasks = recurringTasks.plus(newTask);
+        recordChange(ScheduleChange.Type.TASK_ADDED, newTask);
+        publish();
+    }
+
+    /**
+     * Adds a batch of tasks to the schedule, either adding every task or none of them.
+     * Recurring tasks are added first, then anti-tasks, then transient tasks,
+     * so transient tasks may fill the time cancelled by anti-tasks of the same batch.
+     * 
+     * @param newTasks The tasks to add to the schedule.
+     * @throws TaskConflictException If a task conflicts with an existing task or another task of the batch.
+     * @throws InvalidTaskException If an anti-task does not properly correspond to a recurring task.
+     */
+    public void addTasks(Collection<? extends Task> newTasks)
+    {
+        List<RecurringTask> newRecurringTasks = new ArrayList<>();
+        List<AntiTask> newAntiTasks = new ArrayList<>();
+        List<TransientTask> newTransientTasks = new ArrayList<>();
+        for (Task newTask : newTasks)
+        {
+            if (newTask instanceof RecurringTask)
+                newRecurringTasks.add((RecurringTask) newTask);
+            else if (newTask instanceof AntiTask)
+                newAntiTasks.add((AntiTask) newTask);
+            else
+                newTransientTasks.add((TransientTask) newTask);
+        }
+        // Stage the changes on a copy so this schedule is left untouched if any task is rejected.
+        Schedule staged = new Schedule(this);
+        staged.addTimedTasks(newRecurringTasks);
+        for (RecurringTask newTask : newRecurringTasks)
+            staged.recurringTasks = staged.recurringTasks.plus(newTask);
+        List<AntiTask> addedAntiTasks = new ArrayList<>();
+        List<Set<Date>> antiTaskDates = new ArrayList<>();
+        try
+        {
+            for (AntiTask newTask : newAntiTasks)
+            {
+                antiTaskDates.add(staged.applyAntiTask(newTask));
+                addedAntiTasks.add(newTask);
+            }
+            staged.addTimedTasks(newTransientTasks);
+        }
+        catch (RuntimeException e)
+        {
+            // Recurring tasks keep track of their anti-tasks themselves, so detach the ones already added.
+            for (AntiTask addedTask : addedAntiTasks)
+                addedTask.getCancelledTask().removeAntiTask(addedTask);
+            throw e;
+        }
+        for (TransientTask newTask : newTransientTasks)
+            staged.transientTasks = staged.transientTasks.plus(newTask);
+
+        timelines = staged.timelines;
+        transientTasks = staged.transientTasks;
+        recurringTasks = staged.recurringTasks;
+        antiTasks = staged.antiTasks;
+        categories = staged.categories;
+        taskNames = staged.taskNames;
+        sortedTaskNames = staged.sortedTaskNames;
+        for (RecurringTask newTask : newRecurringTasks)
+            recordChange(ScheduleChange.Type.TASK_ADDED, newTask);
+        for (int i = 0; i < addedAntiTasks.size(); i++)
+            recordChange(ScheduleChange.Type.ANTI_TASK_APPLIED, addedAntiTasks.get(i), antiTaskDates.get(i));
+        for (TransientTask newTask : newTransientTasks)
+            recordChange(ScheduleChange.Type.TASK_ADDED, newTask);
+        publish();
+    }
+
+    /**
+     * Adds transient or recurring tasks to the calendar in a single pass over
+     * their occurences sorted by date and starting time. Once sorted, an occurence
+     * can only conflict with the one right before it among the new tasks,
+     * and each date's timeline is looked up once.
+     * 
+     * @param newTasks The tasks to add to the calendar.
+     * @throws TaskConflictException If a task conflicts with an existing task or another one of the tasks,
+     *                               in which case none of the tasks are added.
+     */
+    private void addTimedTasks(List<? extends Task> newTasks)
+    {
+        List<AgendaEntry> occurences = new ArrayList<>();
+        for (Task newTask : newTasks)
+        {
+            for (Map.Entry<Date, Set<Timeframe>> day : newTask.getScheduledTimes().entrySet())
+            {
+                for (Timeframe timeframe : day.getValue())
+                    occurences.add(new AgendaEntry(day.getKey(), timeframe, newTask));
+            }
+        }
+        occurences.sort(Comparator.comparing(AgendaEntry::getDate).thenComparing(AgendaEntry::getTimeframe));
+        // Check For Conflicts
+        AgendaEntry previous = null;
+        DailyTimeline timeline = null;
+        for (AgendaEntry occurence : occurences)
+        {
+            if (previous == null || !previous.getDate().equals(occurence.getDate()))
+                timeline = timelines.get(occurence.getDate());
+            else if (previous.getTimeframe().conflictsWith(occurence.getTimeframe()))
+                throw new TaskConflictException(occurence.getTask(), previous.getTask());
+            if (timeline != null)
+            {
+                Task conflictingTask = timeline.findConflictingTask(occurence.getTimeframe(), null);
+                if (conflictingTask != null)
+                    throw new TaskConflictException(occurence.getTask(), conflictingTask);
+            }
+            previous = occurence;
+        }
+        // Add To Calendar
+        previous = null;
+        for (AgendaEntry occurence : occurences)
+        {
+            if (previous == null || !previous.getDate().equals(occurence.getDate()))
+            {
+                timeline = getOwnedTimeline(occurence.getDate());
+                if (timeline == null)
+                {
+                    timeline = new DailyTimeline(owner);
+                    timelines = timelines.put(occurence.getDate(), timeline);
+                }
+            }
+            timeline.add(occurence.getTimeframe(), occurence.getTask());
+            previous = occurence;
+        }
+        // Categorize & Index Tasks For Quick Lookup
+        for (Task newTask : newTasks)
+        {
+            categorizeTask(newTask);
+            indexTask(newTask);
+        }
+    }
+
+    /**
+     * Adds a task to the calendar.
+     * 
+     * @param newTask The task to add to the calendar.
+     * @throws TaskConflictException If an existing task conflicts with the one being added.
+     */
+    private void generalAddTask(Task newTask)
+    {
+        Map<Date, Set<Timeframe>> newTimes = newTask.getScheduledTimes();
+        Set<Date> newDates = newTimes.keySet();
+        // Check For Conflicts
+        for (Date date : newDates)
+        {
+            Task conflictingTask = findConflictingTask(date, newTimes.get(date), null);
+            if (conflictingTask != null)
+                throw new TaskConflictException(newTask, conflictingTask);
+        }
+        // Add To Calendar
+        for (Date date : newDates)
+            addTaskOnDate(date, newTask, newTimes.get(date));
+        // Categorize & Index Task For Quick Lookup
+        categorizeTask(newTask);
+        indexTask(newTask);
+    }
+
+    /**
+     * Attempts to find an existing task in conflict with the
+     * provided timeframes on the given date.
+     * 
+     * @param date The date to search for timeframe conflicts.
+     * @param timeframes The potentially conflicting timeframes.
+     * @param ignoredTask A task to ignore when searching for conflicts, or null.
+     * @return A conflicting task if found, or null otherwise.
+     */
+    private Task findConflictingTask(Date date, Set<Timeframe> timeframes, Task ignoredTask)
+    {
+        DailyTimeline timeline = timelines.get(date);
+        if (timeline != null)
+        {
+            for (Timeframe timeframe : timeframes)
+            {
+                Task conflictingTask = timeline.findConflictingTask(timeframe, ignoredTask);
+                if (conflictingTask != null)
+                    return conflictingTask;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associates a task with the given date.
+     * 
+     * @param date The date to associate the task with.
+     * @param newTask The task to be associated with the date.
+     * @param timeframes The timeframes the task occupies on the date.
+     */
+    private void addTaskOnDate(Date date, Task newTask, Set<Timeframe> timeframes)
+    {
+        DailyTimeline timeline = getOwnedTimeline(date);
+        if (timeline == null)
+        {
+            timeline = new DailyTimeline(owner);
+            timelines = timelines.put(date, timeline);
+        }
+        for (Timeframe timeframe : timeframes)
+            timeline.add(timeframe, newTask);
+    }
+
+    /**
+     * Gets the timeline of a date for changes,
+     * first replacing it with a copy if it is shared with another schedule.
+     * 
+     * @param date The date of the timeline.
+     * @return The timeline of the date, or null if there are no tasks on that date.
+     */
+    private DailyTimeline getOwnedTimeline(Date date)
+    {
+        DailyTimeline timeline = timelines.get(date);
+        if (timeline != null && !timeline.isOwnedBy(owner))
+        {
+            timeline = new DailyTimeline(timeline, owner);
+            timelines = timelines.put(date, timeline);
+        }
+        return timeline;
+    }
+
+    /**
+     * Adds a task to the category database for quick access.
+     * 
+     * @param task The task to categorize.
+     */
+    private void categorizeTask(Task newTask)
+    {
+        categories = addToDatabase(categories, newTask.getCategory(), newTask);
+    }
+
+    /**
+     * Removes a task from the category database.
+     * 
+     * @param task The task to remove from the categorization database.
+     */
+    private void uncategorizeTask(Task removeTask)
+    {
+        categories = removeFromDatabase(categories, removeTask.getCategory(), removeTask);
+    }
+
+    /**
+     * Adds a task to the name database for quick lookup.
+     * 
+     * @param newTask The task to index.
+     */
+    private void indexTask(Task newTask)
+    {
+        String taskName = newTask.getTaskName();
+        taskNames = addToDatabase(taskNames, taskName, newTask);
+        sortedTaskNames = sortedTaskNames.put(taskName, taskNames.get(taskName));
+    }
+
+    /**
+     * Removes a task from the name database.
+     * 
+     * @param removeTask The task to remove from the name database.
+     */
+    private void unindexTask(Task removeTask)
+    {
+        String taskName = removeTask.getTaskName();
+        taskNames = removeFromDatabase(taskNames, taskName, removeTask);
+        PersistentHashSet<Task> tasks = taskNames.get(taskName);
+        sortedTaskNames = (tasks != null) ? sortedTaskNames.put(taskName, tasks) : sortedTaskNames.remove(taskName);
+    }
+
+    /**
+     * Adds a task to the set of tasks under a key.
+     * 
+     * @param database The database to add to.
+     * @param key The key to add the task under.
+     * @param task The task to add.
+     * @return The updated database.
+     */
+    private static PersistentHashMap<String, PersistentHashSet<Task>> addToDatabase(
+            PersistentHashMap<String, PersistentHashSet<Task>> database, String key, Task task)
+    {
+        PersistentHashSet<Task> tasks = database.get(key);
+        if (tasks == null)
+            tasks = PersistentHashSet.empty();
+        return database.put(key, tasks.plus(task));
+    }
+
+    /**
+     * Removes a task from the set of tasks under a key,
+     * removing the key entirely once no tasks are left under it.
+     * 
+     * @param database The database to remove from.
+     * @param key The key the task is under.
+     * @param task The task to remove.
+     * @return The updated database.
+     */
+    private static PersistentHashMap<String, PersistentHashSet<Task>> removeFromDatabase(
+            PersistentHashMap<String, PersistentHashSet<Task>> database, String key, Task task)
+    {
+        PersistentHashSet<Task> tasks = database.get(key);
+        if (tasks == null)
+            return database;
+        tasks = tasks.minus(task);
+        return tasks.isEmpty() ? database.remove(key) : database.put(key, tasks);
+    }
+
+    /**
+     * Gets a set of categories which 
+     */
+    public Set<String> getActiveCategories()
+    {
+        return categories.keySet();
+    }
+
+    /**
+     * Removes a transient task from the schedule.
+     * 
+     * @param removeTask The transient task to remove from the schedule.
+     */
+    public void removeTask(TransientTask removeTask)
+    {
+        generalRemoveTask(removeTask);
+        transientTasks = transientTasks.minus(removeTask);
+        recordChange(ScheduleChange.Type.TASK_REMOVED, removeTask);
+        publish();
+    }
+
+    /**
+     * Removes a recurring task from the schedule.
+     * 
+     * @param removeTask The recurring task to remove from the schedule.
+     */
+    public void removeTask(RecurringTask removeTask)
+    {
+        generalRemoveTask(removeTask);
+        recurringTasks = recurringTasks.minus(removeTask);
+        recordChange(ScheduleChange.Type.TASK_REMOVED, removeTask);
+        for (AntiTask antiTask : removeTask.getAntiTasks())
+        {
+            antiTasks = antiTasks.minus(antiTask);
+            uncategorizeTask(antiTask);
+            unindexTask(antiTask);
+            recordChange(ScheduleChange.Type.TASK_REMOVED, antiTask, Collections.emptySet());
+        }
+        publish();
+    }
+
+    /**
+     * Removes a task from the calandar.
+     * 
+     * @param removeTask The task to remove from the schedule.
+     */
+    private void generalRemoveTask(Task removeTask)
+    {
+        Map<Date, Set<Timeframe>> times = removeTask.getScheduledTimes();
+        Set<Date> dates = times.keySet();
+        for (Date date : dates)
+            removeTaskOnDate(date, removeTask);
+        uncategorizeTask(removeTask);
+        unindexTask(removeTask);
+    }
+
+    /**
+     * Disassociates a task from the given date.
+     * 
+     * @param date The date to disassociate the task from.
+     * @param removeTask The task to be disassociated from the date.
+     */
+    private void removeTaskOnDate(Date date, Task removeTask)
+    {
+        DailyTimeline timeline = getOwnedTimeline(date);
+        if (timeline != null)
+        {
+            timeline.remove(removeTask);
+            if (timeline.isEmpty())
+                timelines = timelines.remove(date);
+        }
+    }
+
+    /**
+     * Adds a anti-task task.
+     *
+     * @param newTask The anti-task to add.
+     * @throws InvalidTaskException If the anti-task does not properly correspond to a recurring task.
+     */
+    public void addTask(AntiTask newTask)
+    {
+        Set<Date> affectedDates = applyAntiTask(newTask);
+        recordChange(ScheduleChange.Type.ANTI_TASK_APPLIED, newTask, affectedDates);
+        publish();
+    }
+
+    /**
+     * Cancels the occurence of a recurring task matching an anti-task, without publishing the change.
+     *
+     * @param newTask The anti-task to add.
+     * @return The dates whose agenda changed.
+     * @throws InvalidTaskException If the anti-task does not properly correspond to a recurring task.
+     */
+    private Set<Date> applyAntiTask(AntiTask newTask)
+    {
+        Date antiTaskDate = newTask.getActiveDate();
+        DailyTimeline timeline = timelines.get(antiTaskDate);
+        if (timeline == null)
+        {
+            throw new InvalidTaskException("There are no tasks on " + antiTaskDate + " for the anti-task \""
+                                           + newTask.getTaskName()+ "\" to affect!");
+        }
+        Timeframe generalTimeframe = newTask.getGeneralTimeframe();
+        // The occurence an anti-task cancels starts on its date at the same time,
+        // so it is found by its starting time instead of scanning the whole day.
+        RecurringTask matchingTask = null;
+        Task existingTask = timeline.getTimeframes().get(generalTimeframe);
+        if (existingTask instanceof RecurringTask && existingTask.getGeneralTimeframe().equals(generalTimeframe))
+            matchingTask = (RecurringTask) existingTask;
+        if (matchingTask != null)
+        {
+            Map<Date, Set<Timeframe>> affectedTimes = matchingTask.addAntiTask(newTask);
+            Set<Date> affectedDates = affectedTimes.keySet();
+            for (Date date : affectedDates)
+            {
+                removeTaskOnDate(date, matchingTask);
+                if (affectedTimes.get(date).size() > 0)
+                    addTaskOnDate(date, matchingTask, affectedTimes.get(date));
+            }
+            antiTasks = antiTasks.plus(newTask);
+            categorizeTask(newTask);
+            indexTask(newTask);
+            return affectedDates;
+        }
+        else
+        {
+            throw new InvalidTaskException("There are no applicable tasks on " + antiTaskDate + " for the anti-task \""
+                                           + newTask.getTaskName()+ "\" to affect!");
+        }
+    }
+
+    /**
+     * Removes an anti-task.
+     * 
+     * @param removeTask The anti-task to remove.
+     * @throws TaskConflictException If the anti-task removal would cause task conflicts.
+     */
+    public void removeTask(AntiTask removeTask)
+    {
+        RecurringTask restoreTask = removeTask.getCancelledTask();
+        // Ensure the task can be restored without conflicts.
+        Map<Date, Set<Timeframe>> restoredTimes = restoreTask.removeAntiTask(removeTask);
+        Set<Date> affectedDates = restoredTimes.keySet();
+        for (Date date : affectedDates)
+        {
+            Task conflictingTask = findConflictingTask(date, restoredTimes.get(date), restoreTask);
+            if (conflictingTask != null)
+            {
+                restoreTask.addAntiTask(removeTask);
+                throw new TaskConflictException("The anti-task could not be removed since this would "
+                                                + "cause the recurring task \"" + restoreTask.getTaskName()
+                                                + "\" to conflict with the task \"" + conflictingTask.getTaskName()
+                                                + "\", please remove the conflicting task to perform this operation.");
+            }
+        }
+        // Reassociate the recurring task with the affected dates.
+        for (Date date : affectedDates)
+        {
+            removeTaskOnDate(date, restoreTask);
+            addTaskOnDate(date, restoreTask, restoredTimes.get(date));
+        }
+        antiTasks = antiTasks.minus(removeTask);
+        uncategorizeTask(removeTask);
+        unindexTask(removeTask);
+        recordChange(ScheduleChange.Type.ANTI_TASK_RESTORED, removeTask, affectedDates);
+        publish();
+    }
+
+    /**
+     * Gets the first transient task with the given name.
+     * 
+     * @param taskName The name of the task.
+     * @return A reference to the task, or null if not found.
+     */
+    public TransientTask getTransientTask(String taskName)
+    {
+        return snapshot.findTask(taskName, TransientTask.class);
+    }
+
+    /**
+     * Gets the first recurring task with the given name.
+     * 
+     * @param taskName The name of the task.
+     * @return A reference to the task, or null if not found.
+     */
+    public RecurringTask getRecurringTask(String taskName)
+    {
+        return snapshot.findTask(taskName, RecurringTask.class);
+    }
+
+    /**
+     * Gets the first anti-task with the given name.
+     * 
+     * @param taskName The name of the task.
+     * @return A reference to the task, or null if not found.
+     */
+    public AntiTask getAntiTask(String taskName)
+    {
+        return snapshot.findTask(taskName, AntiTask.class);
+    }
+
+    /**
+     * Gets the first task with the given name, preferring
+     * transient tasks, then recurring tasks, then anti-tasks.
+     * 
+     * @param taskName The name of the task.
+     * @return A reference to the task, or null if not found.
+     */
+    public Task getTask(String taskName)
+    {
+        return snapshot.getTask(taskName);
+    }
+
+    /**
+     * Returns a set of every task with the given name,
+     * since tasks of different types may share a name.
+     * 
+     * @param taskName The name to look under.
+     * @return A set of tasks with that name or null
+     *         if there are no scheduled tasks with that name.
+     */
+    public Set<Task> getTasksByName(String taskName)
+    {
+        if (taskNames.containsKey(taskName))
+            return new HashSet<>(taskNames.get(taskName));
+        return null;
+    }
+
+    /**
+     * Gets the names of scheduled tasks beginning with the given text, in alphabetical order.
+     * 
+     * @param prefix The text the names must begin with.
+     * @return A set of matching task names, empty if there are no matches.
+     */
+    public SortedSet<String> getTaskNamesStartingWith(String prefix)
+    {
+        SortedSet<String> matches = new TreeSet<>();
+        Iterator<Map.Entry<String, PersistentHashSet<Task>>> iterator = sortedTaskNames.iteratorFrom(prefix);
+        while (iterator.hasNext())
+        {
+            String taskName = iterator.next().getKey();
+            if (!taskName.startsWith(prefix))
+                break;
+            matches.add(taskName);
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the names of scheduled tasks containing the given text, in alphabetical order.
+     * Unlike a prefix search, every distinct task name has to be checked.
+     * 
+     * @param text The text the names must contain.
+     * @return A set of matching task names, empty if there are no matches.
+     */
+    public SortedSet<String> getTaskNamesContaining(String text)
+    {
+        SortedSet<String> matches = new TreeSet<>();
+        for (Map.Entry<String, PersistentHashSet<Task>> entry : sortedTaskNames)
+        {
+            String taskName = entry.getKey();
+            if (taskName.contains(text))
+                matches.add(taskName);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns a set of tasks applicable to the provided day,
+     * including tasks that were not created on that specific day
+     * but extend in from the previous day.
+     * Anti-tasks are not included in this set of tasks, and tasks
+     * that no longer have an occurence on the day due to an anti-task
+     * will not be included in this set.
+     * 
+     * @param date The date to check.
+     * @return A set of tasks applicable to that date,
+     *         or null if there are no tasks scheduled that day.
+     */
+    public Set<Task> getDailyTasks(Date date)
+    {
+        DailyTimeline timeline = timelines.get(date);
+        if (timeline != null)
+            return new TreeSet<>(timeline.getTimeframes().values());
+        return null;
+    }
+
+    /**
+     * Gets every timeframe occupied by a task within a range of dates,
+     * ordered by date and then by starting time.
+     * Tasks extending into the next day appear on both days,
+     * and anti-tasks and the occurences they cancel are not included.
+     * 
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return A list of agenda entries, empty if there are no tasks within the range.
+     */
+    public List<AgendaEntry> getAgenda(Date from, Date to)
+    {
+        return snapshot.getAgenda(from, to);
+    }
+
+    /**
+     * Gets the busy and free times of the provided day,
+     * including times of tasks that extend in from the previous day.
+     * 
+     * @param date The date to check.
+     * @return The occupancy of that date.
+     */
+    public DayOccupancy getOccupancy(Date date)
+    {
+        return snapshot.getOccupancy(date);
+    }
+
+    /**
+     * Gets the busy and free times of every day within a range of dates.
+     * 
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return A mapping of every date in the range, in order, to its occupancy.
+     */
+    public SortedMap<Date, DayOccupancy> getFreeBusy(Date from, Date to)
+    {
+        SortedMap<Date, DayOccupancy> freeBusy = new TreeMap<>();
+        for (Date date = from; date.compareTo(to) <= 0; date = date.getNextDay())
+            freeBusy.put(date, getOccupancy(date));
+        return freeBusy;
+    }
+
+    /**
+     * Checks whether a timeframe is free on the provided day.
+     * Timeframes running into the next day must be free on both days.
+     * 
+     * @param date The date the timeframe starts on.
+     * @param timeframe The timeframe to check.
+     * @return True if no scheduled task occupies any part of the timeframe, false otherwise.
+     */
+    public boolean isFree(Date date, Timeframe timeframe)
+    {
+        return snapshot.isFree(date, timeframe);
+    }
+
+    /**
+     * Finds the earliest free slots long enough for a new task within a range of dates.
+     * Slots never overlap each other, so a task can be booked into every slot found,
+     * and the time taken depends on the number of dates searched rather than the number of scheduled tasks.
+     *
+     * @param from The first date a slot may start on.
+     * @param to The last date a slot may start on.
+     * @param duration The length of each slot in minutes, a multiple of 15 ranging from 15 to 1425.
+     * @param maxSlots The largest number of slots to find.
+     * @return Up to the given number of free slots in order, empty if none fit within the range.
+     * @throws InvalidTimeframeException If the duration is out of range or not a multiple of 15.
+     */
+    public List<FreeSlot> findFreeSlots(Date from, Date to, int duration, int maxSlots)
+    {
+        return snapshot.findFreeSlots(from, to, duration, maxSlots);
+    }
+
+    /**
+     * Finds the earliest free slots long enough for a new task within a range of dates,
+     * only considering a window of each day, such as working hours.
+     * Slots never overlap each other, so a task can be booked into every slot found,
+     * and the time taken depends on the number of dates searched rather than the number of scheduled tasks.
+     *
+     * @param from The first date a window may start on.
+     * @param to The last date a window may start on.
+     * @param duration The length of each slot in minutes, a multiple of 15 ranging from 15 to 1425.
+     * @param window The part of each day slots must fall within, which may run into the next day.
+     * @param maxSlots The largest number of slots to find.
+     * @return Up to the given number of free slots in order, empty if none fit within the range.
+     * @throws InvalidTimeframeException If the duration is out of range or not a multiple of 15.
+     */
+    public List<FreeSlot> findFreeSlots(Date from, Date to, int duration, Timeframe window, int maxSlots)
+    {
+        return snapshot.findFreeSlots(from, to, duration, window, maxSlots);
+    }
+
+    /**
+     * Returns a set of tasks in the given category.
+     * 
+     * @param category The category to look under.
+     * @return A set of tasks in that category or null
+     *         if there are no scheduled tasks within that category.
+     */
+    public Set<Task> getTasksByCategory(String category)
+    {
+        if (categories.containsKey(category))
+            return new HashSet<>(categories.get(category));
+        return null;
+    }
+    
+    /**
+     * Gets a set of all transient tasks across the entire calendar.
+     * 
+     * @return A set of all scheduled transient tasks.
+     */
+    public Set<TransientTask> getTransientTasks()
+    {
+        return new HashSet<TransientTask>(transientTasks);
+    }
+
+    /**
+     * Gets a set of all recurring tasks across the entire calendar.
+     * 
+     * @return A set of all scheduled recurring tasks.
+     */
+    public Set<RecurringTask> getRecurringTasks()
+    {
+        return new HashSet<RecurringTask>(recurringTasks);
+    }
+
+    /**
+     * Gets a set of all anti-tasks across the entire calendar.
+     * 
+     * @return A set of all scheduled anti-tasks.
+     */
+    public Set<AntiTask> getAntiTasks()
+    {
+        return new HashSet<AntiTask>(antiTasks);
+    }
+
+    /**
+     * Gets a read-only view of every transient task, avoiding a copy.
+     * 
+     * @return A view of all scheduled transient tasks.
+     */
+    Set<TransientTask> getTransientTaskView()
+    {
+        return transientTasks;
+    }
+
+    /**
+     * Gets a read-only view of every recurring task, avoiding a copy.
+     * 
+     * @return A view of all scheduled recurring tasks.
+     */
+    Set<RecurringTask> getRecurringTaskView()
+    {
+        return recurringTasks;
+    }
+
+    /**
+     * Gets a read-only view of every anti-task, avoiding a copy.
+     * 
+     * @return A view of all scheduled anti-tasks.
+     */
+    Set<AntiTask> getAntiTaskView()
+    {
+        return antiTasks;
+    }
+
+    /**
+     * Attempts to merge two schedules into a new schedule.
+     * @param otherSchedule The other schedule to merge.
+     * @return A new schedule containing all tasks from
+     *         both original Schedule objects.
+     * @throws TaskConflictException If a task of the other schedule conflicts with a task of this one.
+     */
+    public Schedule merge(Schedule otherSchedule)
+    {
+        MergeResult result = tryMerge(otherSchedule);
+        if (!result.isSuccessful())
+        {
+            TaskConflict conflict = result.getConflicts().get(0);
+            throw new TaskConflictException(conflict.getTask(), conflict.getConflictingTask());
+        }
+        return result.getSchedule();
+    }
+
+    /**
+     * Attempts to merge two schedules into a new schedule, checking
+     * the dates of the other schedule for conflicts in parallel on the common pool.
+     * @param otherSchedule The other schedule to merge.
+     * @return The merged schedule, or every conflict between the two schedules.
+     */
+    public MergeResult tryMerge(Schedule otherSchedule)
+    {
+        return tryMerge(otherSchedule, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Attempts to merge two schedules into a new schedule, checking
+     * the dates of the other schedule for conflicts in parallel.
+     * Either every task of the other schedule is merged or none are,
+     * and neither original schedule is changed.
+     * @param otherSchedule The other schedule to merge.
+     * @param pool The pool to check conflicts on.
+     * @return The merged schedule, or every conflict between the two schedules.
+     */
+    public MergeResult tryMerge(Schedule otherSchedule, ForkJoinPool pool)
+    {
+        // Tasks within a schedule never conflict, so only the other schedule's timelines need checking against this one.
+        List<Map.Entry<Date, DailyTimeline>> incomingTimelines = new ArrayList<>(otherSchedule.timelines.size());
+        for (Map.Entry<Date, DailyTimeline> day : otherSchedule.timelines)
+            incomingTimelines.add(day);
+        List<TaskConflict> conflicts = pool.invoke(new ConflictValidation(timelines, incomingTimelines,
+                                                                          0, incomingTimelines.size()));
+        if (!conflicts.isEmpty())
+            return new MergeResult(null, conflicts);
+
+        Schedule newSchedule = new Schedule(this);
+        // The other schedule's timelines are shared with the new one from now on.
+        otherSchedule.owner = new Object();
+        for (Map.Entry<Date, DailyTimeline> day : incomingTimelines)
+        {
+            DailyTimeline timeline = newSchedule.getOwnedTimeline(day.getKey());
+            if (timeline != null)
+                timeline.addAll(day.getValue());
+            else
+                newSchedule.timelines = newSchedule.timelines.put(day.getKey(), day.getValue());
+        }
+        for (RecurringTask task : otherSchedule.recurringTasks)
+            newSchedule.recurringTasks = newSchedule.recurringTasks.plus(task);
+        for (AntiTask task : otherSchedule.antiTasks)
+            newSchedule.antiTasks = newSchedule.antiTasks.plus(task);
+        for (TransientTask task : otherSchedule.transientTasks)
+            newSchedule.transientTasks = newSchedule.transientTasks.plus(task);
+        for (Map.Entry<String, PersistentHashSet<Task>> category : otherSchedule.categories)
+        {
+            for (Task task : category.getValue())
+                newSchedule.categorizeTask(task);
+        }
+        for (Map.Entry<String, PersistentHashSet<Task>> taskName : otherSchedule.taskNames)
+        {
+            for (Task task : taskName.getValue())
+                newSchedule.indexTask(task);
+        }
+        newSchedule.publish();
+        return new MergeResult(newSchedule, conflicts);
+    }
+
+    /**
+     * Replays a change made on another version of this schedule, taking the touched dates
+     * and tasks from the changed version and leaving every other date and task as it is here.
+     * The change must not depend on any other date, so it cannot conflict with this version.
+     * 
+     * @param changed The changed version of the schedule.
+     * @param dates Every date the change touched.
+     * @param addedTasks The tasks the change added.
+     * @param removedTasks The tasks the change removed.
+     */
+    void replay(Schedule changed, Collection<Date> dates,
+                Collection<? extends Task> addedTasks, Collection<? extends Task> removedTasks)
+    {
+        for (Date date : dates)
+        {
+            DailyTimeline timeline = changed.timelines.get(date);
+            timelines = (timeline == null) ? timelines.remove(date) : timelines.put(date, timeline);
+        }
+        for (Task task : removedTasks)
+        {
+            if (task instanceof RecurringTask)
+                recurringTasks = recurringTasks.minus(task);
+            else if (task instanceof AntiTask)
+                antiTasks = antiTasks.minus(task);
+            else
+                transientTasks = transientTasks.minus(task);
+            uncategorizeTask(task);
+            unindexTask(task);
+        }
+        for (Task task : addedTasks)
+        {
+            if (task instanceof RecurringTask)
+                recurringTasks = recurringTasks.plus((RecurringTask) task);
+            else if (task instanceof AntiTask)
+                antiTasks = antiTasks.plus((AntiTask) task);
+            else
+                transientTasks = transientTasks.plus((TransientTask) task);
+            categorizeTask(task);
+            indexTask(task);
+        }
+        publish();
+    }
+
+    /**
+     * Adds tasks that are known not to conflict, such as tasks read back from a saved schedule,
+     * without checking them for conflicts. Anti-tasks must already be attached to the recurring
+     * tasks they cancel, so the cancelled occurences are left out of the calendar.
+     * 
+     * @param restoredTasks The tasks to add to the schedule.
+     */
+    void restore(Collection<? extends Task> restoredTasks)
+    {
+        for (Task task : restoredTasks)
+        {
+            if (task instanceof AntiTask)
+            {
+                antiTasks = antiTasks.plus((AntiTask) task);
+                recordChange(ScheduleChange.Type.ANTI_TASK_APPLIED, task, Collections.emptySet());
+            }
+            else
+            {
+                recordChange(ScheduleChange.Type.TASK_ADDED, task);
+                for (Map.Entry<Date, Set<Timeframe>> day : task.getScheduledTimes().entrySet())
+                    addTaskOnDate(day.getKey(), task, day.getValue());
+                if (task instanceof RecurringTask)
+                    recurringTasks = recurringTasks.plus((RecurringTask) task);
+                else
+                    transientTasks = transientTasks.plus((TransientTask) task);
+            }
+            categorizeTask(task);
+            indexTask(task);
+        }
+        publish();
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A single change made to a schedule, along with the dates whose agenda it changed.
+ */
+public final class ScheduleChange
+{
+    /**
+     * The kinds of changes a schedule reports.
+     */
+    public enum Type
+    {
+        /** A transient or recurring task was added. */
+        TASK_ADDED,
+        /** A task was removed, including anti-tasks removed along with the recurring task they cancel. */
+        TASK_REMOVED,
+        /** An anti-task was added, cancelling an occurence of a recurring task. */
+        ANTI_TASK_APPLIED,
+        /** An anti-task was removed, restoring the occurence it cancelled. */
+        ANTI_TASK_RESTORED
+    }
+
+    private final Type type;
+    private final Task task;
+    private final SortedSet<Date> affectedDates;
+
+    /**
+     * Initializes a change.
+     * @param type The kind of change.
+     * @param task The task added or removed.
+     * @param affectedDates The dates whose agenda changed.
+     */
+    ScheduleChange(Type type, Task task, Iterable<Date> affectedDates)
+    {
+        this.type = type;
+        this.task = task;
+        SortedSet<Date> dates = new TreeSet<>();
+        for (Date date : affectedDates)
+            dates.add(date);
+        this.affectedDates = Collections.unmodifiableSortedSet(dates);
+    }
+
+    /**
+     * Gets the kind of change.
+     * @return The kind of change.
+     */
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * Gets the task added or removed.
+     * @return The task.
+     */
+    public Task getTask()
+    {
+        return task;
+    }
+
+    /**
+     * Gets the dates whose agenda changed, including dates a task only runs into from the previous day.
+     * Anti-tasks restored from a file or removed along with their recurring task have no dates of their own,
+     * since the change to the recurring task already covers them.
+     * @return A read-only set of dates in order.
+     */
+    public SortedSet<Date> getAffectedDates()
+    {
+        return affectedDates;
+    }
+
+    @Override
+    public String toString()
+    {
+        return type + " " + task.getTaskName() + " " + affectedDates;
+    }
+}
@@ -0,0 +1,605 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * A schedule saved to a directory as every change is made.
+ * Each change is appended to a journal file and forced to disk before it returns,
+ * so saving costs as much as the change rather than the whole schedule, and nothing is lost in a crash.
+ * Changes made at the same time by several threads share a single force of the journal.
+ * Once the journal grows past a limit, the schedule is written to a binary snapshot
+ * and a new, empty journal is started.
+ * <p>
+ * The snapshot and journal of each checkpoint are numbered. Opening the directory loads the latest
+ * snapshot and replays its journal, dropping a last change that was only partly written.
+ * A change that fails to be written is cut from the journal again, so later changes are never
+ * appended behind a broken one.
+ */
+public class ScheduleJournal implements Closeable
+{
+    private static final long DEFAULT_CHECKPOINT_SIZE = 1 << 20;
+
+    private static final Pattern FILE_NAME = Pattern.compile("(snapshot|journal)-(\\d+)\\.(bin|log|tmp)");
+
+    private static final byte ADD = 0, REMOVE = 1, MERGE = 2;
+    private static final byte TRANSIENT = 0, RECURRING = 1, ANTI = 2;
+
+    private final File directory;
+    private final long checkpointSize;
+    private Schedule schedule;
+
+    private long generation;
+    private FileChannel journal;
+
+    // Changes Appended To The Journal & Changes Forced To Disk
+    private long appended, forced;
+    private final Object forceLock;
+
+    // The Failure That Left A Partly Written Change In The Journal, After Which Nothing More Is Appended
+    private IOException failure;
+
+    /**
+     * Initializes a journal over an opened journal file.
+     * @param directory The directory of the journal.
+     * @param checkpointSize The journal size at which a checkpoint is made, in bytes.
+     * @param schedule The schedule recovered from the directory.
+     * @param generation The number of the latest checkpoint.
+     * @param journal The journal file of the latest checkpoint, positioned at its end.
+     */
+    private ScheduleJournal(File directory, long checkpointSize, Schedule schedule, long generation, FileChannel journal)
+    {
+        this.directory = directory;
+        this.checkpointSize = checkpointSize;
+        this.schedule = schedule;
+        this.generation = generation;
+        this.journal = journal;
+        forceLock = new Object();
+    }
+
+    /**
+     * Opens the schedule saved in a directory, creating the directory if needed.
+     * @param directory The directory to keep the snapshot and journal in.
+     * @return The journal.
+     * @throws IOException If the directory cannot be read or written to.
+     */
+    public static ScheduleJournal open(File directory) throws IOException
+    {
+        return open(directory, DEFAULT_CHECKPOINT_SIZE);
+    }
+
+    /**
+     * Opens the schedule saved in a directory, creating the directory if needed.
+     * @param directory The directory to keep the snapshot and journal in.
+     * @param checkpointSize The journal size at which the schedule is written to a new snapshot, in bytes.
+     * @return The journal.
+     * @throws IOException If the directory cannot be read or written to.
+     */
+    public static ScheduleJournal open(File directory, long checkpointSize) throws IOException
+    {
+        Files.createDirectories(directory.toPath());
+        long generation = 0;
+        for (String name : directory.list())
+        {
+            Matcher matcher = FILE_NAME.matcher(name);
+            if (matcher.matches() && name.endsWith(".bin"))
+                generation = Math.max(generation, Long.parseLong(matcher.group(2)));
+        }
+        File snapshot = getSnapshotFile(directory, generation);
+        Schedule schedule = snapshot.exists() ? ImportBinary.importing(snapshot) : new Schedule();
+        FileChannel journal = FileChannel.open(getJournalFile(directory, generation).toPath(),
+                                               StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE);
+        try
+        {
+            replay(journal, schedule);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            journal.close();
+            throw e;
+        }
+        deleteOtherGenerations(directory, generation);
+        return new ScheduleJournal(directory, checkpointSize, schedule, generation, journal);
+    }
+
+    private static File getSnapshotFile(File directory, long generation)
+    {
+        return new File(directory, "snapshot-" + generation + ".bin");
+    }
+
+    private static File getJournalFile(File directory, long generation)
+    {
+        return new File(directory, "journal-" + generation + ".log");
+    }
+
+    /**
+     * Deletes the files of every other checkpoint, along with unfinished snapshots.
+     * @param directory The directory of the journal.
+     * @param generation The number of the checkpoint to keep.
+     * @throws IOException If a file cannot be deleted.
+     */
+    private static void deleteOtherGenerations(File directory, long generation) throws IOException
+    {
+        for (String name : directory.list())
+        {
+            Matcher matcher = FILE_NAME.matcher(name);
+            if (matcher.matches() && (Long.parseLong(matcher.group(2)) != generation || name.endsWith(".tmp")))
+                Files.delete(new File(directory, name).toPath());
+        }
+    }
+
+    /**
+     * Applies every complete change in a journal file to a schedule.
+     * Each change is stored as its length, its contents and a checksum of its contents,
+     * so a change cut short by a crash is found and cut from the file.
+     * Only the last change can be cut short, so a broken change followed by others means the journal
+     * was damaged, and is reported rather than cut along with every change after it.
+     * @param journal The journal file.
+     * @param schedule The schedule to apply the changes to.
+     * @throws IOException If the journal cannot be read, is damaged or holds an invalid change.
+     */
+    private static void replay(FileChannel journal, Schedule schedule) throws IOException
+    {
+        ByteBuffer contents = ByteBuffer.allocate((int) journal.size());
+        while (contents.hasRemaining())
+        {
+            if (journal.read(contents, contents.position()) < 0)
+                break;
+        }
+        contents.flip();
+        int end = 0;
+        while (contents.remaining() >= Integer.BYTES)
+        {
+            int length = contents.getInt();
+            if (length < 0 || contents.remaining() < length + Integer.BYTES)
+                break;
+            byte[] change = new byte[length];
+            contents.get(change);
+            CRC32 checksum = new CRC32();
+            checksum.update(change);
+            if (contents.getInt() != (int) checksum.getValue())
+            {
+                if (contents.hasRemaining())
+                    throw new IOException("The journal is damaged at byte " + end + ".");
+                break;
+            }
+            apply(schedule, new DataInputStream(new ByteArrayInputStream(change)));
+            end = contents.position();
+        }
+        journal.truncate(end);
+        journal.position(end);
+    }
+
+    /**
+     * Applies a single change read from a journal.
+     * @param schedule The schedule to change.
+     * @param input The contents of the change.
+     * @throws IOException If the change is invalid.
+     */
+    private static void apply(Schedule schedule, DataInputStream input) throws IOException
+    {
+        byte operation = input.readByte();
+        if (operation == MERGE)
+        {
+            int taskCount = BinaryFormat.readLength(input);
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < taskCount; i++)
+                tasks.add(readTask(input));
+            schedule.addTasks(tasks);
+            return;
+        }
+        Task task = readTask(input);
+        if (operation == ADD)
+        {
+            if (task instanceof RecurringTask)
+                schedule.addTask((RecurringTask) task);
+            else if (task instanceof AntiTask)
+                schedule.addTask((AntiTask) task);
+            else
+                schedule.addTask((TransientTask) task);
+            return;
+        }
+        Task existingTask = findSameTask(schedule, task);
+        if (existingTask == null)
+            throw new IOException("The journal removes the task " + task.getTaskName() + ", which is not scheduled.");
+        if (existingTask instanceof RecurringTask)
+            schedule.removeTask((RecurringTask) existingTask);
+        else if (existingTask instanceof AntiTask)
+            schedule.removeTask((AntiTask) existingTask);
+        else
+            schedule.removeTask((TransientTask) existingTask);
+    }
+
+    /**
+     * Finds the scheduled task a journal change refers to.
+     * @param schedule The schedule to search.
+     * @param task A task with the same details as the scheduled one.
+     * @return The scheduled task, or null if there is none.
+     */
+    private static Task findSameTask(Schedule schedule, Task task)
+    {
+        Set<Task> candidates = schedule.getTasksByName(task.getTaskName());
+        if (candidates == null)
+            return null;
+        for (Task candidate : candidates)
+        {
+            if (candidate.getClass() == task.getClass() && candidate.getCategory().equals(task.getCategory())
+                && candidate.getGeneralTimeframe().equals(task.getGeneralTimeframe()) && hasSameDates(candidate, task))
+                return candidate;
+        }
+        return null;
+    }
+
+    private static boolean hasSameDates(Task first, Task second)
+    {
+        if (first instanceof RecurringTask)
+        {
+            RecurringTask firstTask = (RecurringTask) first, secondTask = (RecurringTask) second;
+            return firstTask.getStartingDate().equals(secondTask.getStartingDate())
+                   && firstTask.getEndingDate().equals(secondTask.getEndingDate())
+                   && firstTask.getFrequency() == secondTask.getFrequency();
+        }
+        if (first instanceof AntiTask)
+            return ((AntiTask) first).getActiveDate().equals(((AntiTask) second).getActiveDate());
+        return ((TransientTask) first).getActiveDate().equals(((TransientTask) second).getActiveDate());
+    }
+
+    private static Task readTask(DataInputStream input) throws IOException
+    {
+        byte type = input.readByte();
+        String name = BinaryFormat.readString(input);
+        Timeframe timeframe = BinaryFormat.readTimeframe(input);
+        Date date = Date.ofEpochDay(BinaryFormat.readSignedVarInt(input));
+        if (type == ANTI)
+            return new AntiTask(name, timeframe, date);
+        String category = BinaryFormat.readString(input);
+        if (type == TRANSIENT)
+            return new TransientTask(name, category, timeframe, date);
+        return new RecurringTask(name, category, timeframe, date, date.plusDays(BinaryFormat.readVarInt(input)),
+                                 BinaryFormat.readFrequency(input));
+    }
+
+    private static void writeTask(DataOutputStream output, Task task) throws IOException
+    {
+        if (task instanceof RecurringTask)
+            output.writeByte(RECURRING);
+        else
+            output.writeByte(task instanceof AntiTask ? ANTI : TRANSIENT);
+        BinaryFormat.writeString(output, task.getTaskName());
+        BinaryFormat.writeTimeframe(output, task.getGeneralTimeframe());
+        if (task instanceof AntiTask)
+        {
+            BinaryFormat.writeSignedVarInt(output, ((AntiTask) task).getActiveDate().toEpochDay());
+            return;
+        }
+        if (task instanceof TransientTask)
+        {
+            BinaryFormat.writeSignedVarInt(output, ((TransientTask) task).getActiveDate().toEpochDay());
+            BinaryFormat.writeString(output, task.getCategory());
+            return;
+        }
+        RecurringTask recurringTask = (RecurringTask) task;
+        BinaryFormat.writeSignedVarInt(output, recurringTask.getStartingDate().toEpochDay());
+        BinaryFormat.writeString(output, task.getCategory());
+        BinaryFormat.writeVarInt(output, recurringTask.getStartingDate().getDaysUntil(recurringTask.getEndingDate()));
+        BinaryFormat.writeVarInt(output, recurringTask.getFrequency().getValue());
+    }
+
+    /**
+     * Gets the schedule. It must only be changed through this journal.
+     * @return The schedule.
+     */
+    public synchronized Schedule getSchedule()
+    {
+        return schedule;
+    }
+
+    /**
+     * Adds a transient task and saves the change.
+     * @param newTask The transient task to add.
+     * @throws TaskConflictException If an existing task conflicts with the one being added.
+     * @throws IOException If the change cannot be saved. The task stays in the schedule.
+     */
+    public void addTask(TransientTask newTask) throws IOException
+    {
+        long change;
+        synchronized (this)
+        {
+            schedule.addTask(newTask);
+            change = append(ADD, newTask);
+        }
+        commit(change);
+    }
+
+    /**
+     * Adds a recurring task and saves the change.
+     * @param newTask The recurring task to add.
+     * @throws TaskConflictException If an existing task conflicts with the one being added.
+     * @throws IOException If the change cannot be saved. The task stays in the schedule.
+     */
+    public void addTask(RecurringTask newTask) throws IOException
+    {
+        long change;
+        synchronized (this)
+        {
+            schedule.addTask(newTask);
+            change = append(ADD, newTask);
+        }
+        commit(change);
+    }
+
+    /**
+     * Adds an anti-task and saves the change.
+     * @param newTask The anti-task to add.
+     * @throws InvalidTaskException If the anti-task does not properly correspond to a recurring task.
+     * @throws IOException If the change cannot be saved. The anti-task stays in the schedule.
+     */
+    public void addTask(AntiTask newTask) throws IOException
+    {
+        long change;
+        synchronized (this)
+        {
+            schedule.addTask(newTask);
+            change = append(ADD, newTask);
+        }
+        commit(change);
+    }
+
+    /**
+     * Removes a transient task and saves the change.
+     * @param removeTask The transient task to remove.
+     * @throws IOException If the change cannot be saved. The task stays removed from the schedule.
+     */
+    public void removeTask(TransientTask removeTask) throws IOException
+    {
+        long change;
+        synchronized (this)
+        {
+            schedule.removeTask(removeTask);
+            change = append(REMOVE, removeTask);
+        }
+        commit(change);
+    }
+
+    /**
+     * Removes a recurring task and its anti-tasks and saves the change.
+     * @param removeTask The recurring task to remove.
+     * @throws IOException If the change cannot be saved. The task stays removed from the schedule.
+     */
+    public void removeTask(RecurringTask removeTask) throws IOException
+    {
+        long change;
+        synchronized (this)
+        {
+            schedule.removeTask(removeTask);
+            change = append(REMOVE, removeTask);
+        }
+        commit(change);
+    }
+
+    /**
+     * Removes an anti-task, restoring the occurence it cancelled, and saves the change.
+     * @param removeTask The anti-task to remove.
+     * @throws TaskConflictException If the anti-task removal would cause task conflicts.
+     * @throws IOException If the change cannot be saved. The anti-task stays removed from the schedule.
+     */
+    public void removeTask(AntiTask removeTask) throws IOException
+    {
+        long change;
+        synchronized (this)
+        {
+            schedule.removeTask(removeTask);
+            change = append(REMOVE, removeTask);
+        }
+        commit(change);
+    }
+
+    /**
+     * Merges the tasks of another schedule into the schedule and saves them as a single change,
+     * so recovering the journal adds either all of them or none of them.
+     * @param otherSchedule The schedule to merge.
+     * @return The merged schedule, which replaces the schedule of this journal.
+     * @throws TaskConflictException If a task of the other schedule conflicts with an existing task.
+     * @throws IOException If the change cannot be saved. The merged schedule still replaces the schedule.
+     */
+    public Schedule merge(Schedule otherSchedule) throws IOException
+    {
+        long change;
+        Schedule merged;
+        synchronized (this)
+        {
+            merged = schedule.merge(otherSchedule);
+            schedule = merged;
+            ByteArrayOutputStream contents = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(contents);
+            output.writeByte(MERGE);
+            BinaryFormat.writeVarInt(output, otherSchedule.getRecurringTaskView().size()
+                                             + otherSchedule.getAntiTaskView().size()
+                                             + otherSchedule.getTransientTaskView().size());
+            // Recurring tasks are replayed before the anti-tasks that cancel them.
+            for (Task task : otherSchedule.getRecurringTaskView())
+                writeTask(output, task);
+            for (Task task : otherSchedule.getAntiTaskView())
+                writeTask(output, task);
+            for (Task task : otherSchedule.getTransientTaskView())
+                writeTask(output, task);
+            change = append(contents.toByteArray());
+        }
+        commit(change);
+        return merged;
+    }
+
+    /**
+     * Appends a change to the journal without forcing it to disk.
+     * @param operation Whether the task was added or removed.
+     * @param task The task.
+     * @return The number of the change.
+     * @throws IOException If the journal cannot be written to.
+     */
+    private long append(byte operation, Task task) throws IOException
+    {
+        ByteArrayOutputStream contents = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(contents);
+        output.writeByte(operation);
+        writeTask(output, task);
+        return append(contents.toByteArray());
+    }
+
+    /**
+     * Appends the contents of a change to the journal without forcing it to disk.
+     * If the change cannot be written completely, the journal is cut back to where the change began,
+     * and if even that fails, nothing more is appended to it.
+     * @param change The contents of the change.
+     * @return The number of the change.
+     * @throws IOException If the journal cannot be written to.
+     */
+    private long append(byte[] change) throws IOException
+    {
+        if (failure != null)
+            throw new IOException("The journal holds a partly written change, so no more changes can be saved.", failure);
+        CRC32 checksum = new CRC32();
+        checksum.update(change);
+
+        ByteBuffer record = ByteBuffer.allocate(change.length + 2 * Integer.BYTES);
+        record.putInt(change.length).put(change).putInt((int) checksum.getValue()).flip();
+        long start = journal.position();
+        try
+        {
+            while (record.hasRemaining())
+                journal.write(record);
+        }
+        catch (IOException e)
+        {
+            try
+            {
+                journal.truncate(start);
+                journal.position(start);
+            }
+            catch (IOException truncateFailure)
+            {
+                e.addSuppressed(truncateFailure);
+                failure = e;
+            }
+            throw e;
+        }
+        return ++appended;
+    }
+
+    /**
+     * Waits until a change is forced to disk. The first thread to get here forces every change
+     * appended so far, so threads waiting behind it usually find their change already forced.
+     * Makes a checkpoint once the journal grows past its limit.
+     * @param change The number of the change.
+     * @throws IOException If the journal cannot be forced to disk.
+     */
+    private void commit(long change) throws IOException
+    {
+        synchronized (forceLock)
+        {
+            if (forced >= change)
+                return;
+            FileChannel forcedJournal;
+            long lastChange;
+            synchronized (this)
+            {
+                forcedJournal = journal;
+                lastChange = appended;
+            }
+            forcedJournal.force(false);
+            forced = lastChange;
+            synchronized (this)
+            {
+                if (journal.size() >= checkpointSize)
+                    writeCheckpoint();
+            }
+        }
+    }
+
+    /**
+     * Writes the schedule to a new snapshot and starts a new, empty journal.
+     * @throws IOException If the snapshot or journal cannot be written.
+     */
+    public void checkpoint() throws IOException
+    {
+        synchronized (forceLock)
+        {
+            synchronized (this)
+            {
+                writeCheckpoint();
+            }
+        }
+    }
+
+    /**
+     * Writes the schedule to the snapshot of the next checkpoint, then switches to its journal.
+     * The snapshot is written to a temporary file first and renamed once complete,
+     * so a crash leaves either the old checkpoint or the new one.
+     * @throws IOException If the snapshot or journal cannot be written.
+     */
+    private void writeCheckpoint() throws IOException
+    {
+        long nextGeneration = generation + 1;
+        File temporary = new File(directory, "snapshot-" + nextGeneration + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temporary))
+        {
+            ExportBinary.export(schedule, output);
+            output.getFD().sync();
+        }
+        Files.move(temporary.toPath(), getSnapshotFile(directory, nextGeneration).toPath(),
+                   StandardCopyOption.ATOMIC_MOVE);
+        FileChannel nextJournal = FileChannel.open(getJournalFile(directory, nextGeneration).toPath(),
+                                                   StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                   StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        journal.close();
+        journal = nextJournal;
+        generation = nextGeneration;
+        forced = appended;
+        // The snapshot holds every change, so the new journal starts without the broken one.
+        failure = null;
+        deleteOtherGenerations(directory, generation);
+    }
+
+    /**
+     * Forces any remaining changes to disk and closes the journal file.
+     * @throws IOException If the journal cannot be forced or closed.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        synchronized (forceLock)
+        {
+            synchronized (this)
+            {
+                journal.force(false);
+                journal.close();
+            }
+        }
+    }
+}
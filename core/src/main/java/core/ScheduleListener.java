@@ -0,0 +1,31 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to a schedule, so views and indexes can update only what changed.
+ * Changes are delivered in batches once they are complete, on the thread that made them.
+ * Adding several tasks at once delivers a single batch, and changes that are rejected are never delivered.
+ * Exceptions thrown by a listener go to the uncaught exception handler of that thread,
+ * without undoing the change or stopping the other listeners.
+ * Schedules created by copying or merging start without listeners.
+ */
+@FunctionalInterface
+public interface ScheduleListener
+{
+    /**
+     * Called after one or more changes were made to a schedule.
+     * @param snapshot The snapshot published by the changes.
+     * @param changes A read-only list of the changes, in the order they were made.
+     */
+    void scheduleChanged(ScheduleSnapshot snapshot, List<ScheduleChange> changes);
+}
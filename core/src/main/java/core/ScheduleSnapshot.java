@@ -0,0 +1,416 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * An immutable version of a schedule at one point in time.
+ * A schedule publishes a new snapshot after every change, sharing every date the change
+ * did not touch with the previous snapshot, so any thread can query a snapshot without locking.
+ * Queries return read-only views of the snapshot rather than copies.
+ */
+public final class ScheduleSnapshot
+{
+    static final ScheduleSnapshot EMPTY = new ScheduleSnapshot(PersistentTreeMap.empty(), PersistentHashSet.empty(),
+                                                                PersistentHashSet.empty(), PersistentHashSet.empty(),
+                                                                PersistentHashMap.empty(), PersistentHashMap.empty());
+
+    private final PersistentTreeMap<Date, DailyTimeline> timelines;
+    private final PersistentHashSet<TransientTask> transientTasks;
+    private final PersistentHashSet<RecurringTask> recurringTasks;
+    private final PersistentHashSet<AntiTask> antiTasks;
+    private final PersistentHashMap<String, PersistentHashSet<Task>> categories;
+    private final PersistentHashMap<String, PersistentHashSet<Task>> taskNames;
+
+    /**
+     * Initializes a snapshot. The daily timelines must never be changed afterwards.
+     * @param timelines The daily timelines, sorted by date.
+     * @param transientTasks Every transient task.
+     * @param recurringTasks Every recurring task.
+     * @param antiTasks Every anti-task.
+     * @param categories The tasks of each category.
+     * @param taskNames The tasks with each name.
+     */
+    ScheduleSnapshot(PersistentTreeMap<Date, DailyTimeline> timelines, PersistentHashSet<TransientTask> transientTasks,
+                     PersistentHashSet<RecurringTask> recurringTasks, PersistentHashSet<AntiTask> antiTasks,
+                     PersistentHashMap<String, PersistentHashSet<Task>> categories,
+                     PersistentHashMap<String, PersistentHashSet<Task>> taskNames)
+    {
+        this.timelines = timelines;
+        this.transientTasks = transientTasks;
+        this.recurringTasks = recurringTasks;
+        this.antiTasks = antiTasks;
+        this.categories = categories;
+        this.taskNames = taskNames;
+    }
+
+    /**
+     * Gets the tasks on the provided day, including tasks extending in from the previous day.
+     * Anti-tasks and the occurences they cancel are not included.
+     * @param date The date to check.
+     * @return A read-only set of tasks ordered by their first timeframe on that date, empty if there are none.
+     */
+    public Set<Task> getDailyTasks(Date date)
+    {
+        DailyTimeline timeline = timelines.get(date);
+        if (timeline != null)
+            return timeline.getTasks();
+        return Collections.emptySet();
+    }
+
+    /**
+     * Gets the timeframes occupied on the provided day and the task occupying each one.
+     * Tasks extending into the next day have their timeframes restricted to each day.
+     * @param date The date to check.
+     * @return A read-only map of timeframes to tasks ordered by starting time, empty if there are none.
+     */
+    public SortedMap<Timeframe, Task> getDailyTimeframes(Date date)
+    {
+        DailyTimeline timeline = timelines.get(date);
+        if (timeline != null)
+            return timeline.getTimeframes();
+        return Collections.emptySortedMap();
+    }
+
+    /**
+     * Gets every timeframe occupied by a task within a range of dates,
+     * ordered by date and then by starting time.
+     * Tasks extending into the next day appear on both days,
+     * and anti-tasks and the occurences they cancel are not included.
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return A list of agenda entries, empty if there are no tasks within the range.
+     */
+    public List<AgendaEntry> getAgenda(Date from, Date to)
+    {
+        List<AgendaEntry> agenda = new ArrayList<>();
+        if (from.compareTo(to) > 0)
+            return agenda;
+        Iterator<Map.Entry<Date, DailyTimeline>> days = timelines.iteratorFrom(from);
+        while (days.hasNext())
+        {
+            Map.Entry<Date, DailyTimeline> day = days.next();
+            Date date = day.getKey();
+            if (date.compareTo(to) > 0)
+                break;
+            for (Map.Entry<Timeframe, Task> entry : day.getValue().getTimeframes().entrySet())
+                agenda.add(new AgendaEntry(date, entry.getKey(), entry.getValue()));
+        }
+        return agenda;
+    }
+
+    /**
+     * Checks whether a range of dates has the same agenda in this snapshot and another one.
+     * Snapshots share every date a change did not touch, so this only compares references
+     * and takes time proportional to the number of scheduled dates within the range.
+     * @param other The other snapshot, usually an earlier or later version of the same schedule.
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return True if the agendas of both snapshots are the same within the range, false if they may differ.
+     */
+    public boolean hasSameAgenda(ScheduleSnapshot other, Date from, Date to)
+    {
+        if (other == this || from.compareTo(to) > 0)
+            return true;
+        Iterator<Map.Entry<Date, DailyTimeline>> days = timelines.iteratorFrom(from);
+        Iterator<Map.Entry<Date, DailyTimeline>> otherDays = other.timelines.iteratorFrom(from);
+        while (true)
+        {
+            DailyTimeline timeline = nextTimeline(days, to);
+            DailyTimeline otherTimeline = nextTimeline(otherDays, to);
+            // Each date has its own timeline, so sharing a timeline also means sharing its date.
+            if (timeline != otherTimeline)
+                return false;
+            if (timeline == null)
+                return true;
+        }
+    }
+
+    /**
+     * Advances to the next daily timeline within a range.
+     * @param days The daily timelines, sorted by date.
+     * @param to The last date of the range.
+     * @return The next timeline, or null if there are no more timelines within the range.
+     */
+    private static DailyTimeline nextTimeline(Iterator<Map.Entry<Date, DailyTimeline>> days, Date to)
+    {
+        if (!days.hasNext())
+            return null;
+        Map.Entry<Date, DailyTimeline> day = days.next();
+        return (day.getKey().compareTo(to) <= 0) ? day.getValue() : null;
+    }
+
+    /**
+     * Gets the busy and free times of the provided day,
+     * including times of tasks that extend in from the previous day.
+     * @param date The date to check.
+     * @return The occupancy of that date.
+     */
+    public DayOccupancy getOccupancy(Date date)
+    {
+        DailyTimeline timeline = timelines.get(date);
+        if (timeline != null)
+            return timeline.getOccupancy();
+        return DayOccupancy.FREE;
+    }
+
+    /**
+     * Checks whether a timeframe is free on the provided day.
+     * Timeframes running into the next day must be free on both days.
+     * @param date The date the timeframe starts on.
+     * @param timeframe The timeframe to check.
+     * @return True if no scheduled task occupies any part of the timeframe, false otherwise.
+     */
+    public boolean isFree(Date date, Timeframe timeframe)
+    {
+        if (timeframe.getNextDayRunoff() > 0)
+            return getOccupancy(date).isFree(timeframe.truncate(false))
+                   && getOccupancy(date.getNextDay()).isFree(timeframe.truncate(true));
+        return getOccupancy(date).isFree(timeframe);
+    }
+
+    /**
+     * Finds the earliest free slots long enough for a new task within a range of dates.
+     * Slots never overlap each other, so a task can be booked into every slot found.
+     * Each date is scanned through its 96 bit occupancy a run of free or busy slots at a time,
+     * so the time taken depends on the number of dates searched rather than the number of scheduled tasks.
+     * @param from The first date a slot may start on.
+     * @param to The last date a slot may start on.
+     * @param duration The length of each slot in minutes, a multiple of 15 ranging from 15 to 1425.
+     * @param maxSlots The largest number of slots to find.
+     * @return Up to the given number of free slots in order, empty if none fit within the range.
+     * @throws InvalidTimeframeException If the duration is out of range or not a multiple of 15.
+     */
+    public List<FreeSlot> findFreeSlots(Date from, Date to, int duration, int maxSlots)
+    {
+        return findFreeSlots(from, to, duration, 0, DayOccupancy.SLOTS_PER_DAY, maxSlots);
+    }
+
+    /**
+     * Finds the earliest free slots long enough for a new task within a range of dates,
+     * only considering a window of each day, such as working hours.
+     * Slots never overlap each other, so a task can be booked into every slot found.
+     * Each date is scanned through its 96 bit occupancy a run of free or busy slots at a time,
+     * so the time taken depends on the number of dates searched rather than the number of scheduled tasks.
+     * @param from The first date a window may start on.
+     * @param to The last date a window may start on.
+     * @param duration The length of each slot in minutes, a multiple of 15 ranging from 15 to 1425.
+     * @param window The part of each day slots must fall within, which may run into the next day.
+     * @param maxSlots The largest number of slots to find.
+     * @return Up to the given number of free slots in order, empty if none fit within the range.
+     * @throws InvalidTimeframeException If the duration is out of range or not a multiple of 15.
+     */
+    public List<FreeSlot> findFreeSlots(Date from, Date to, int duration, Timeframe window, int maxSlots)
+    {
+        int windowStart = window.getStartingTime() / DayOccupancy.SLOT_LENGTH;
+        return findFreeSlots(from, to, duration, windowStart,
+                             windowStart + window.getDuration() / DayOccupancy.SLOT_LENGTH, maxSlots);
+    }
+
+    /**
+     * Finds the earliest free slots within the same window of every date in a range.
+     * Slot numbers count from the start of each date, with slots 96 and up belonging to the next date.
+     * @param from The first date a window may start on.
+     * @param to The last date a window may start on.
+     * @param duration The length of each slot in minutes.
+     * @param windowStart The first slot of each window.
+     * @param windowEnd The slot right after each window.
+     * @param maxSlots The largest number of slots to find.
+     * @return Up to the given number of free slots in order.
+     */
+    private List<FreeSlot> findFreeSlots(Date from, Date to, int duration, int windowStart, int windowEnd, int maxSlots)
+    {
+        int length = new Timeframe(0, duration).getDuration() / DayOccupancy.SLOT_LENGTH;
+        List<FreeSlot> freeSlots = new ArrayList<>();
+        if (from.compareTo(to) > 0 || windowEnd - windowStart < length)
+            return freeSlots;
+        Iterator<Map.Entry<Date, DailyTimeline>> days = timelines.iteratorFrom(from);
+        Map.Entry<Date, DailyTimeline> day = days.hasNext() ? days.next() : null;
+        // The Busy Slots Of A Date Followed By Those Of The Next Date
+        long[] busy = new long[3];
+        for (Date date = from; date.compareTo(to) <= 0 && freeSlots.size() < maxSlots; date = date.getNextDay())
+        {
+            // The dates are visited in order, so the timelines are walked once instead of looked up.
+            while (day != null && day.getKey().compareTo(date) < 0)
+                day = days.hasNext() ? days.next() : null;
+            DayOccupancy occupancy = (day != null && day.getKey().equals(date)) ? day.getValue().getOccupancy()
+                                                                                : DayOccupancy.FREE;
+            long nextLowSlots = 0, nextHighSlots = 0;
+            if (windowEnd > DayOccupancy.SLOTS_PER_DAY)
+            {
+                Date nextDate = date.getNextDay();
+                while (day != null && day.getKey().compareTo(nextDate) < 0)
+                    day = days.hasNext() ? days.next() : null;
+                if (day != null && day.getKey().equals(nextDate))
+                {
+                    DayOccupancy nextOccupancy = day.getValue().getOccupancy();
+                    nextLowSlots = nextOccupancy.getLowSlots();
+                    nextHighSlots = nextOccupancy.getHighSlots();
+                }
+            }
+            busy[0] = occupancy.getLowSlots();
+            busy[1] = occupancy.getHighSlots() | (nextLowSlots << 32);
+            busy[2] = (nextLowSlots >>> 32) | (nextHighSlots << 32);
+
+            // Windows are shorter than a day, so slots found for the previous date never reach this window.
+            int slot = windowStart;
+            while (freeSlots.size() < maxSlots)
+            {
+                slot = findSlot(busy, slot, false);
+                if (slot + length > windowEnd)
+                    break;
+                int busySlot = findSlot(busy, slot, true);
+                if (busySlot - slot < length)
+                {
+                    slot = busySlot;
+                    continue;
+                }
+                if (slot < DayOccupancy.SLOTS_PER_DAY)
+                    freeSlots.add(new FreeSlot(date, new Timeframe(slot * DayOccupancy.SLOT_LENGTH, duration)));
+                else
+                    freeSlots.add(new FreeSlot(date.getNextDay(),
+                                               new Timeframe((slot - DayOccupancy.SLOTS_PER_DAY) * DayOccupancy.SLOT_LENGTH,
+                                                             duration)));
+                slot += length;
+            }
+        }
+        return freeSlots;
+    }
+
+    /**
+     * Finds the first busy or free slot at or after a given slot.
+     * @param busy The busy slots of two consecutive dates, one bit per slot.
+     * @param from The slot to start from.
+     * @param wantBusy True to find a busy slot, false to find a free one.
+     * @return The slot found, or 192 if there is none.
+     */
+    private static int findSlot(long[] busy, int from, boolean wantBusy)
+    {
+        for (int word = from >>> 6; word < busy.length; word++)
+        {
+            long slots = wantBusy ? busy[word] : ~busy[word];
+            if (word == from >>> 6)
+                slots &= -1L << (from & 63);
+            if (slots != 0)
+                return (word << 6) + Long.numberOfTrailingZeros(slots);
+        }
+        return busy.length << 6;
+    }
+
+    /**
+     * Gets the tasks in the given category.
+     * @param category The category to look under.
+     * @return A read-only set of tasks, empty if there are no scheduled tasks within that category.
+     */
+    public Set<Task> getTasksByCategory(String category)
+    {
+        Set<Task> tasks = categories.get(category);
+        return (tasks != null) ? tasks : Collections.emptySet();
+    }
+
+    /**
+     * Gets the categories with at least one scheduled task.
+     * @return A read-only set of category names.
+     */
+    public Set<String> getActiveCategories()
+    {
+        return categories.keySet();
+    }
+
+    /**
+     * Gets every task with the given name, since tasks of different types may share a name.
+     * @param taskName The name to look under.
+     * @return A read-only set of tasks, empty if there are no scheduled tasks with that name.
+     */
+    public Set<Task> getTasksByName(String taskName)
+    {
+        Set<Task> tasks = taskNames.get(taskName);
+        return (tasks != null) ? tasks : Collections.emptySet();
+    }
+
+    /**
+     * Gets the first task with the given name, preferring
+     * transient tasks, then recurring tasks, then anti-tasks.
+     * @param taskName The name of the task.
+     * @return A reference to the task, or null if not found.
+     */
+    public Task getTask(String taskName)
+    {
+        Task task = findTask(taskName, TransientTask.class);
+        if (task == null)
+            task = findTask(taskName, RecurringTask.class);
+        if (task == null)
+            task = findTask(taskName, AntiTask.class);
+        return task;
+    }
+
+    /**
+     * Looks up the first task of a type with the given name.
+     * @param taskName The name of the task.
+     * @param type The type of task to look for.
+     * @return A reference to the task, or null if not found.
+     */
+    <T extends Task> T findTask(String taskName, Class<T> type)
+    {
+        Set<Task> tasks = taskNames.get(taskName);
+        if (tasks != null)
+        {
+            for (Task task : tasks)
+            {
+                if (type.isInstance(task))
+                    return type.cast(task);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the daily timelines of the snapshot, which must not be changed.
+     * @return The daily timelines, sorted by date.
+     */
+    PersistentTreeMap<Date, DailyTimeline> getTimelines()
+    {
+        return timelines;
+    }
+
+    /**
+     * Gets every transient task.
+     * @return A read-only set of all scheduled transient tasks.
+     */
+    public Set<TransientTask> getTransientTasks()
+    {
+        return transientTasks;
+    }
+
+    /**
+     * Gets every recurring task.
+     * @return A read-only set of all scheduled recurring tasks.
+     */
+    public Set<RecurringTask> getRecurringTasks()
+    {
+        return recurringTasks;
+    }
+
+    /**
+     * Gets every anti-task.
+     * @return A read-only set of all scheduled anti-tasks.
+     */
+    public Set<AntiTask> getAntiTasks()
+    {
+        return antiTasks;
+    }
+}
@@ -10,7 +10,12 @@
 package core;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -143,25 +148,33 @@ public abstract class Task implements Comparable<Task>
      */
     public boolean conflictsWith(Task task)
     {
-        Map<Date, Set<Timeframe>> times = getScheduledTimes();
-        Map<Date, Set<Timeframe>> otherTimes = task.getScheduledTimes();
-        Set<Date> sharedDates = times.keySet();
-        sharedDates.retainAll(otherTimes.keySet());
-        if (sharedDates.size() > 0)
+        for (Map.Entry<Date, Set<Timeframe>> entry : getScheduledTimes().entrySet())
+        {
+            Set<Timeframe> otherTimeframes = task.getDailyTimeframes(entry.getKey());
+            if (otherTimeframes != null && conflictsWith(entry.getValue(), otherTimeframes))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any timeframe of one set conflicts with any timeframe of another.
+     * 
+     * @param timeframes The first set of timeframes.
+     * @param otherTimeframes The second set of timeframes.
+     * @return True if any of the timeframes conflict, false otherwise.
+     */
+    protected static boolean conflictsWith(Set<Timeframe> timeframes, Set<Timeframe> otherTimeframes)
+    {
+        for (Timeframe time : timeframes)
         {
-            for (Date sharedDate : sharedDates)
+            for (Timeframe otherTime : otherTimeframes)
             {
-                for (Timeframe time : times.get(sharedDate))
-                {
-                    for (Timeframe otherTime : otherTimes.get(sharedDate))
-                    {
-                        if (time.conflictsWith(otherTime))
-                            return true;
-                    }
-                }
+                if (time.conflictsWith(otherTime))
+                    return true;
             }
         }
-        return false; 
+        return false;
     }
 
     /**
@@ -244,10 +257,31 @@ public abstract class Task implements Comparable<Task>
 
     /**
      * Returns a JsonObject with the properties corresponding to
-     * the task.
+     * the task, as written by writeJson(), so the format of each task is only kept in one place.
      *
-     * @param task - The task to retrieve properties from.
      * @return A JsonObject containing the properties corresponding to the task.
      */
-    public abstract JsonObject getJsonObject();
+    public JsonObject getJsonObject()
+    {
+        StringWriter json = new StringWriter();
+        try
+        {
+            writeJson(new JsonWriter(json));
+        }
+        catch (IOException e)
+        {
+            // Writing to a string never fails.
+            throw new UncheckedIOException(e);
+        }
+        return JsonParser.parseString(json.toString()).getAsJsonObject();
+    }
+
+    /**
+     * Writes a JSON object with the properties corresponding to
+     * the task, without building an intermediate JsonObject.
+     *
+     * @param writer The writer to write the object to.
+     * @throws IOException If the object cannot be written.
+     */
+    public abstract void writeJson(JsonWriter writer) throws IOException;
 }
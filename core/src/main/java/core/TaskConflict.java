@@ -0,0 +1,84 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package core;
+
+/**
+ * A conflict between a task that was going to be added to a schedule
+ * and a task already in the schedule on a specific date.
+ */
+public final class TaskConflict
+{
+    private final Date date;
+    private final Timeframe timeframe;
+    private final Task task;
+    private final Task conflictingTask;
+
+    /**
+     * Initializes a task conflict.
+     * @param date The date of the conflict.
+     * @param timeframe The timeframe of the attempted task on that date.
+     * @param task The task the program attempted to add.
+     * @param conflictingTask The existing task conflicting with the attempted task.
+     */
+    TaskConflict(Date date, Timeframe timeframe, Task task, Task conflictingTask)
+    {
+        this.date = date;
+        this.timeframe = timeframe;
+        this.task = task;
+        this.conflictingTask = conflictingTask;
+    }
+
+    /**
+     * Gets the date of the conflict.
+     * @return The date of the conflict.
+     */
+    public Date getDate()
+    {
+        return date;
+    }
+
+    /**
+     * Gets the timeframe of the attempted task on the date of the conflict.
+     * @return The conflicting timeframe, restricted to that date.
+     */
+    public Timeframe getTimeframe()
+    {
+        return timeframe;
+    }
+
+    /**
+     * Gets the task the program attempted to add.
+     * @return The attempted task.
+     */
+    public Task getTask()
+    {
+        return task;
+    }
+
+    /**
+     * Gets the existing task conflicting with the attempted task.
+     * @return The existing task.
+     */
+    public Task getConflictingTask()
+    {
+        return conflictingTask;
+    }
+
+    /**
+     * Gets a string with a textual representation of the conflict.
+     * @return A string representing the conflict.
+     */
+    @Override
+    public String toString()
+    {
+        return "The task \"" + task.getTaskName() + "\" at " + timeframe + " on " + date
+               + " conflicts with an existing task: \"" + conflictingTask.getTaskName() + "\"";
+    }
+}
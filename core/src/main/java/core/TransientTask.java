@@ -9,10 +9,11 @@
  */
 package core;
 
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -37,7 +38,7 @@ public class TransientTask extends Task
     public TransientTask(String taskName, String category, Timeframe timeframe, Date date)
     {
         super(taskName, category, timeframe);
-        this.activeDate = new Date(date);
+        this.activeDate = date;
         generateActiveTimes();
     }
 
@@ -68,14 +69,11 @@ public class TransientTask extends Task
      */
     private void addDailyTimeframe(Date date, Timeframe timeframe)
     {
-        Set<Timeframe> dailyTimeframes;
-        dailyTimeframes = new TreeSet<>();
-        activeTimes.put(date, dailyTimeframes);
-        dailyTimeframes.add(timeframe);
+        activeTimes.put(date, Collections.singleton(timeframe));
     }
 
     /**
-     * Returns a copy of the dates and corresponding timeframes
+     * Returns a read-only view of the dates and corresponding timeframes
      * this task will be active. Tasks that extend into a second day
      * have been accounted for and their timeframes have been truncated
      * according to each of the applicable days.
@@ -83,7 +81,20 @@ public class TransientTask extends Task
     @Override
     public Map<Date, Set<Timeframe>> getScheduledTimes()
     {
-        return new HashMap<Date, Set<Timeframe>>(activeTimes);
+        return Collections.unmodifiableMap(activeTimes);
+    }
+
+    /**
+     * Gets the read-only timeframes of this task specific to a particular day.
+     * 
+     * @param date The date to get the active timeframes for.
+     * @return The timeframes specific to the particular day
+     *         or null if the task has no times on the given day.
+     */
+    @Override
+    public Set<Timeframe> getDailyTimeframes(Date date)
+    {
+        return activeTimes.get(date);
     }
 
     /**
@@ -101,12 +112,12 @@ public class TransientTask extends Task
     }
 
     /**
-     * Gets the active date of the task. (new object to protect internal copy)
+     * Gets the active date of the task.
      * @return The active date of the task.
      */
     public Date getActiveDate()
     {
-        return new Date(activeDate);
+        return activeDate;
     }
 
     /**
@@ -121,23 +132,22 @@ public class TransientTask extends Task
 
 
     /**
-     * Returns a JsonObject with the properties corresponding to
+     * Writes a JSON object with the properties corresponding to
      * the transient task.
      *
-     * @param task - The task to retrieve properties from.
-     * @return A JsonObject containing the properties corresponding to the task.
+     * @param writer The writer to write the object to.
+     * @throws IOException If the object cannot be written.
      */
     @Override
-    public JsonObject getJsonObject()
+    public void writeJson(JsonWriter writer) throws IOException
     {
-        JsonObject temp = new JsonObject();
         Timeframe timeframe = getGeneralTimeframe();
-        temp.addProperty("Name", getTaskName());
-        temp.addProperty("Type", getCategory());
-        temp.addProperty("Date", activeDate.getConcatenatedDate());
-        temp.addProperty("StartTime", timeframe.getStartingTimeHours());
-        temp.addProperty("Duration", timeframe.getDurationHours());
-        return temp;
+        writer.beginObject();
+        writer.name("Name").value(getTaskName());
+        writer.name("Type").value(getCategory());
+        writer.name("Date").value(activeDate.getConcatenatedDate());
+        writer.name("StartTime").value(timeframe.getStartingTimeHours());
+        writer.name("Duration").value(timeframe.getDurationHours());
+        writer.endObject();
     }
 }
-
@@ -0,0 +1,137 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A daily recurring task that extends into the next day,
+ * which effectively makes the task have two timeframes in a single day,
+ * cancelled for one day by an anti-task.
+ */
+public class AntiTaskTest
+{
+    private Schedule schedule;
+    private Date antiTaskDate;
+    private Timeframe taskTimeframe;
+    private RecurringTask dailyRecurringTask;
+    private AntiTask antiTask;
+    private TransientTask fillVoid;
+
+    @BeforeEach
+    public void setUp()
+    {
+        schedule = new Schedule();
+        Date startingDate = new Date(1, 3, 2020);
+        Date endingDate = startingDate.getNextMonth();
+        antiTaskDate = new Date(1, 10, 2020);
+        taskTimeframe = new Timeframe(1380, 120);
+
+        dailyRecurringTask = new RecurringTask("Daily", "Sleep", taskTimeframe,
+                                               startingDate.getNextDay(), endingDate.getNextMonth(), TaskFrequency.DAILY);
+        RecurringTask weeklyRecurringTask = new RecurringTask("Weekly", "Study", taskTimeframe,
+                                                              startingDate, endingDate, TaskFrequency.WEEKLY);
+        TransientTask transientTask = new TransientTask("One Time", "Visit", new Timeframe(0, 450), startingDate);
+        antiTask = new AntiTask("Anti-Task For Daily", taskTimeframe, antiTaskDate);
+        fillVoid = new TransientTask("Fills The Void Left By Anti-Task", "Visit", taskTimeframe, antiTaskDate);
+
+        schedule.addTask(dailyRecurringTask);
+        assertThrows(TaskConflictException.class, () -> schedule.addTask(weeklyRecurringTask));
+        schedule.addTask(transientTask);
+        schedule.addTask(antiTask);
+    }
+
+    @Test
+    public void cancelsASingleOccurence()
+    {
+        assertSame(dailyRecurringTask, antiTask.getCancelledTask());
+        assertTrue(dailyRecurringTask.hasAntiTaskOn(antiTaskDate));
+        // The cancelled occurence runs past midnight, so the anti-task is active on the next day too.
+        assertTrue(dailyRecurringTask.hasAntiTaskOn(antiTaskDate.getNextDay()));
+        assertFalse(dailyRecurringTask.hasAntiTaskOn(antiTaskDate.getPreviousDay()));
+        assertFalse(dailyRecurringTask.isScheduledOn(antiTaskDate));
+        assertEquals(Set.of(new Timeframe(0, 60)), dailyRecurringTask.getDailyTimeframes(antiTaskDate));
+        assertEquals(Set.of(new Timeframe(1380, 60)), dailyRecurringTask.getDailyTimeframes(antiTaskDate.getNextDay()));
+        assertEquals(Set.of(new Timeframe(0, 60), new Timeframe(1380, 60)),
+                     dailyRecurringTask.getDailyTimeframes(antiTaskDate.getPreviousDay()));
+    }
+
+    @Test
+    public void fillsTheCancelledOccurence()
+    {
+        schedule.addTask(fillVoid);
+        assertTrue(schedule.getDailyTasks(antiTaskDate).contains(fillVoid));
+
+        // Removing the anti-task would make the daily task conflict with the new transient task.
+        assertThrows(TaskConflictException.class, () -> schedule.removeTask(antiTask));
+        assertTrue(dailyRecurringTask.hasAntiTaskOn(antiTaskDate));
+
+        schedule.removeTask(fillVoid);
+        schedule.removeTask(antiTask);
+        assertFalse(dailyRecurringTask.hasAntiTaskOn(antiTaskDate));
+        assertFalse(dailyRecurringTask.hasAntiTaskOn(antiTaskDate.getNextDay()));
+        assertNull(antiTask.getCancelledTask());
+        assertEquals(Set.of(new Timeframe(0, 60), new Timeframe(1380, 60)),
+                     dailyRecurringTask.getDailyTimeframes(antiTaskDate));
+        assertTrue(schedule.getDailyTasks(antiTaskDate).contains(dailyRecurringTask));
+    }
+
+    @Test
+    public void cancelsSeveralOccurences()
+    {
+        Date earlierDate = antiTaskDate.plusDays(-3);
+        Date laterDate = antiTaskDate.plusDays(5);
+        AntiTask earlierAntiTask = new AntiTask("Earlier Anti-Task", taskTimeframe, earlierDate);
+        AntiTask laterAntiTask = new AntiTask("Later Anti-Task", taskTimeframe, laterDate);
+        schedule.addTask(laterAntiTask);
+        schedule.addTask(earlierAntiTask);
+        assertEquals(List.of(earlierDate, antiTaskDate, laterDate), List.copyOf(dailyRecurringTask.getAntiTaskDates()));
+        assertEquals(List.of(earlierAntiTask, antiTask, laterAntiTask), List.copyOf(dailyRecurringTask.getAntiTasks()));
+        assertThrows(InvalidTaskException.class,
+                     () -> schedule.addTask(new AntiTask("Same Date", taskTimeframe, laterDate)));
+
+        // Removing one anti-task only restores the occurence it cancelled.
+        schedule.removeTask(antiTask);
+        assertTrue(dailyRecurringTask.isScheduledOn(antiTaskDate));
+        assertFalse(dailyRecurringTask.isScheduledOn(earlierDate));
+        assertFalse(dailyRecurringTask.isScheduledOn(laterDate));
+        assertEquals(Set.of(new Timeframe(0, 60)), dailyRecurringTask.getDailyTimeframes(laterDate));
+        assertEquals(List.of(earlierDate, laterDate), List.copyOf(dailyRecurringTask.getAntiTaskDates()));
+    }
+
+    @Test
+    public void rejectsAntiTasksWithoutMatchingTasks()
+    {
+        assertThrows(InvalidTaskException.class,
+                     () -> schedule.addTask(new AntiTask("Wrong Time", new Timeframe(1380, 60), antiTaskDate.getNextDay())));
+        assertThrows(InvalidTaskException.class,
+                     () -> schedule.addTask(new AntiTask("No Tasks", taskTimeframe, new Date(1, 1, 2021))));
+    }
+
+    @Test
+    public void categorizesTasks()
+    {
+        assertEquals(Set.of("Sleep", "Visit", "Cancellation"), schedule.getActiveCategories());
+        assertEquals(Set.of(dailyRecurringTask), schedule.getTasksByCategory("Sleep"));
+        assertEquals(Set.of(antiTask), schedule.getTasksByCategory("Cancellation"));
+        assertNull(schedule.getTasksByCategory("Study"));
+
+        schedule.removeTask(antiTask);
+        assertEquals(Set.of("Sleep", "Visit"), schedule.getActiveCategories());
+    }
+}
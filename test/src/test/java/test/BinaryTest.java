@@ -0,0 +1,157 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saves schedules as binary snapshots and restores them.
+ */
+public class BinaryTest
+{
+    private static final File DATA_DIRECTORY = new File(System.getProperty("dataDirectory", "../data"));
+
+    @Test
+    public void restoresEveryTask() throws IOException
+    {
+        Schedule schedule = new ImportJson(new File(DATA_DIRECTORY, "Set1.json").getPath()).passImport();
+        Date startingDate = new Date(6, 1, 2020);
+        RecurringTask weeklyTask = new RecurringTask("Weekly", "Exercise", new Timeframe(1380, 120),
+                                                     startingDate, startingDate.plusDays(70), TaskFrequency.WEEKLY);
+        schedule.addTask(weeklyTask);
+        schedule.addTask(new AntiTask("Skip First Week", weeklyTask.getGeneralTimeframe(), startingDate.getNextWeek()));
+        schedule.addTask(new AntiTask("Skip Second Week", weeklyTask.getGeneralTimeframe(), startingDate.plusDays(14)));
+        schedule.addTask(new TransientTask("Fills The Void", "Visit", new Timeframe(1380, 60), startingDate.plusDays(14)));
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        ExportBinary.export(schedule, snapshot);
+        StringWriter json = new StringWriter();
+        ExportJson.export(schedule, json, false);
+        assertTrue(snapshot.size() < json.toString().length());
+
+        Schedule restored = ImportBinary.importing(new ByteArrayInputStream(snapshot.toByteArray()));
+        assertEquals(schedule.getAgenda(new Date(1, 1, 2020), new Date(12, 31, 2020)).toString(),
+                     restored.getAgenda(new Date(1, 1, 2020), new Date(12, 31, 2020)).toString());
+        assertEquals(3, restored.getRecurringTasks().size());
+        assertEquals(3, restored.getAntiTasks().size());
+        assertEquals(2, restored.getTransientTasks().size());
+        assertEquals(schedule.getActiveCategories(), restored.getActiveCategories());
+
+        RecurringTask restoredTask = restored.getRecurringTask("Weekly");
+        assertEquals(weeklyTask.getGeneralTimeframe(), restoredTask.getGeneralTimeframe());
+        assertEquals(weeklyTask.getEndingDate(), restoredTask.getEndingDate());
+        assertEquals(weeklyTask.getAntiTaskDates(), restoredTask.getAntiTaskDates());
+        assertSame(restoredTask, restored.getAntiTask("Skip Second Week").getCancelledTask());
+        assertFalse(restored.isFree(startingDate.plusDays(21), new Timeframe(1380, 60)));
+
+        // Restored schedules keep rejecting conflicting tasks.
+        assertThrows(TaskConflictException.class, () -> restored.addTask(
+                new TransientTask("Overlaps", "Visit", new Timeframe(1380, 60), startingDate.plusDays(21))));
+        restored.removeTask(restored.getAntiTask("Skip First Week"));
+        assertFalse(restored.isFree(startingDate.getNextWeek(), new Timeframe(1380, 60)));
+    }
+
+    @Test
+    public void rejectsOtherData()
+    {
+        assertThrows(IOException.class,
+                     () -> ImportBinary.importing(new ByteArrayInputStream("[]".getBytes())));
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        assertDoesNotThrow(() -> ExportBinary.export(new ImportJson(new File(DATA_DIRECTORY, "Set1.json").getPath())
+                                                         .passImport(), snapshot));
+        byte[] truncated = Arrays.copyOf(snapshot.toByteArray(), snapshot.size() / 2);
+        assertThrows(IOException.class, () -> ImportBinary.importing(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    public void rejectsCorruptSnapshots() throws IOException
+    {
+        Schedule schedule = new Schedule();
+        Date startingDate = new Date(6, 1, 2020);
+        RecurringTask weeklyTask = new RecurringTask("Weekly", "Exercise", new Timeframe(1380, 120),
+                                                     startingDate, startingDate.plusDays(70), TaskFrequency.WEEKLY);
+        schedule.addTask(weeklyTask);
+        schedule.addTask(new AntiTask("Skip First Week", weeklyTask.getGeneralTimeframe(), startingDate.getNextWeek()));
+        schedule.addTask(new TransientTask("Visit", "Visit", new Timeframe(600, 60), startingDate));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExportBinary.export(schedule, output);
+        byte[] snapshot = output.toByteArray();
+
+        for (int length = 0; length < snapshot.length; length++)
+        {
+            byte[] truncated = Arrays.copyOf(snapshot, length);
+            assertThrows(IOException.class, () -> ImportBinary.importing(new ByteArrayInputStream(truncated)));
+        }
+        // Flipped bits may still read as a valid snapshot, but anything else must be reported as an IOException.
+        for (int bit = 0; bit < snapshot.length * 8; bit++)
+        {
+            byte[] flipped = snapshot.clone();
+            flipped[bit / 8] ^= 1 << (bit % 8);
+            try
+            {
+                ImportBinary.importing(new ByteArrayInputStream(flipped));
+            }
+            catch (IOException e)
+            {
+                // Expected for most flips.
+            }
+        }
+
+        // A string table or a string claiming more entries than any input could hold.
+        assertThrows(IOException.class, () -> ImportBinary.importing(new ByteArrayInputStream(
+                header(0xFF, 0xFF, 0xFF, 0xFF, 0x07))));
+        assertThrows(IOException.class, () -> ImportBinary.importing(new ByteArrayInputStream(
+                header(0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0x07, 'a'))));
+        assertThrows(IOException.class, () -> ImportBinary.importing(new ByteArrayInputStream(
+                header(0xFF, 0xFF, 0xFF, 0xFF, 0x0F))));
+    }
+
+    @Test
+    public void rejectsUnknownFrequencies() throws IOException
+    {
+        // Strings "A" and "Study", then a recurring task from 8:00 to 9:00 over a week every n days.
+        int[] weekly = {2, 1, 'A', 5, 'S', 't', 'u', 'd', 'y', 1, 0, 1, 32, 4, 0, 7, 7, 0, 0};
+        Schedule restored = ImportBinary.importing(new ByteArrayInputStream(header(weekly)));
+        assertEquals(TaskFrequency.WEEKLY, restored.getRecurringTask("A").getFrequency());
+
+        int[] unknown = weekly.clone();
+        unknown[16] = 3;
+        assertThrows(IOException.class, () -> ImportBinary.importing(new ByteArrayInputStream(header(unknown))));
+    }
+
+    /**
+     * Builds a snapshot with a valid header followed by the given bytes.
+     */
+    private static byte[] header(int... bytes)
+    {
+        byte[] snapshot = new byte[5 + bytes.length];
+        // "SCHD" and version 1
+        snapshot[0] = 'S';
+        snapshot[1] = 'C';
+        snapshot[2] = 'H';
+        snapshot[3] = 'D';
+        snapshot[4] = 1;
+        for (int i = 0; i < bytes.length; i++)
+            snapshot[5 + i] = (byte) bytes[i];
+        return snapshot;
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Changes to a shared schedule from several threads at once.
+ */
+public class ConcurrentScheduleTest
+{
+    private static final int THREADS = 8;
+
+    private ConcurrentSchedule schedule;
+    private ExecutorService executor;
+    private Date startingDate;
+
+    @BeforeEach
+    public void setUp()
+    {
+        schedule = new ConcurrentSchedule();
+        executor = Executors.newFixedThreadPool(THREADS);
+        startingDate = new Date(1, 3, 2020);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void addsTasksFromManyThreads() throws Exception
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", new Timeframe(1380, 120),
+                                                        startingDate, startingDate.plusDays(99), TaskFrequency.DAILY);
+        schedule.addTask(recurringTask);
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            int offset = thread;
+            writers.add(() ->
+            {
+                for (int i = 0; i < 100; i++)
+                {
+                    Date date = startingDate.plusDays(i);
+                    schedule.addTask(new TransientTask("Transient " + offset + " " + i, "Visit",
+                                                       new Timeframe(120 + offset * 60, 60), date));
+                    assertNotNull(schedule.getTask("Transient " + offset + " " + i));
+                    assertFalse(schedule.isFree(date, new Timeframe(1380, 60)));
+                }
+                return null;
+            });
+        }
+        for (Future<Void> result : executor.invokeAll(writers))
+            result.get();
+
+        assertEquals(THREADS * 100, schedule.getTransientTasks().size());
+        assertEquals(THREADS + 1, schedule.getDailyTasks(startingDate.plusDays(50)).size());
+        assertEquals(Set.of("Study", "Visit"), schedule.getActiveCategories());
+        assertNotNull(schedule.getTask("Transient 7 99"));
+    }
+
+    @Test
+    public void acceptsOnlyOneOfConflictingTasks() throws Exception
+    {
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            int offset = thread;
+            writers.add(() ->
+            {
+                try
+                {
+                    schedule.addTask(new RecurringTask("Recurring " + offset, "Work", new Timeframe(540, 60),
+                                                       startingDate.plusDays(offset), startingDate.plusDays(365),
+                                                       TaskFrequency.DAILY));
+                }
+                catch (TaskConflictException e)
+                {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        for (Future<Void> result : executor.invokeAll(writers))
+            result.get();
+
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, schedule.getRecurringTasks().size());
+        assertEquals(1, schedule.getDailyTasks(startingDate.plusDays(365)).size());
+    }
+
+    @Test
+    public void restoresCancelledOccurencesAtomically() throws Exception
+    {
+        List<RecurringTask> recurringTasks = new ArrayList<>();
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            Timeframe timeframe = new Timeframe(thread * 180, 120);
+            RecurringTask recurringTask = new RecurringTask("Recurring " + thread, "Sleep", timeframe,
+                                                            startingDate, startingDate.plusDays(63), TaskFrequency.WEEKLY);
+            schedule.addTask(recurringTask);
+            recurringTasks.add(recurringTask);
+            AntiTask antiTask = new AntiTask("Skip " + thread, timeframe, startingDate.plusDays(thread * 7));
+            writers.add(() ->
+            {
+                schedule.addTask(antiTask);
+                schedule.removeTask(antiTask);
+                schedule.addTask(antiTask);
+                return null;
+            });
+        }
+        Schedule before = schedule.getSchedule();
+        for (Future<Void> result : executor.invokeAll(writers))
+            result.get();
+
+        assertEquals(THREADS, schedule.getAntiTasks().size());
+        assertEquals(THREADS - 1, schedule.getDailyTasks(startingDate).size());
+        assertFalse(schedule.getDailyTasks(startingDate).contains(recurringTasks.get(0)));
+        assertEquals(THREADS, schedule.getDailyTasks(startingDate.plusDays(THREADS * 7)).size());
+        // Copies taken earlier keep their own version of the schedule.
+        assertEquals(THREADS, before.getDailyTasks(startingDate).size());
+
+        schedule.removeTask(recurringTasks.get(0));
+        assertEquals(THREADS - 1, schedule.getAntiTasks().size());
+        assertNull(schedule.getTask("Skip 0"));
+    }
+
+    @Test
+    public void keepsEveryAntiTaskOfOneRecurringTask() throws Exception
+    {
+        for (int round = 0; round < 20; round++)
+        {
+            RecurringTask recurringTask = new RecurringTask("Recurring " + round, "Sleep", new Timeframe(1380, 120),
+                                                            startingDate, startingDate.plusDays(127), TaskFrequency.DAILY);
+            schedule.addTask(recurringTask);
+            List<Callable<Void>> writers = new ArrayList<>();
+            for (int i = 0; i < 64; i++)
+            {
+                // Every other date, so the anti-tasks hash onto different stripes.
+                AntiTask antiTask = new AntiTask("Skip " + round + " " + i, new Timeframe(1380, 120),
+                                                 startingDate.plusDays(i * 2));
+                writers.add(() ->
+                {
+                    schedule.addTask(antiTask);
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(writers))
+                result.get();
+
+            assertEquals(64, schedule.getAntiTasks().size());
+            assertEquals(64, recurringTask.getAntiTasks().size());
+            assertTrue(schedule.isFree(startingDate.plusDays(126), new Timeframe(1380, 60)));
+            assertFalse(schedule.isFree(startingDate.plusDays(125), new Timeframe(1380, 60)));
+            schedule.removeTask(recurringTask);
+            assertTrue(schedule.getAntiTasks().isEmpty());
+        }
+    }
+
+    @Test
+    public void indexesAntiTasksAddedFromManyThreads() throws Exception
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Sleep", new Timeframe(1380, 120),
+                                                        startingDate, startingDate.plusDays(999), TaskFrequency.DAILY);
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            int offset = thread;
+            writers.add(() ->
+            {
+                for (int i = offset; i < 1000; i += THREADS)
+                    recurringTask.addAntiTask(new AntiTask("Skip " + i, new Timeframe(1380, 120), startingDate.plusDays(i)));
+                return null;
+            });
+        }
+        for (Future<Void> result : executor.invokeAll(writers))
+            result.get();
+
+        assertEquals(1000, recurringTask.getAntiTasks().size());
+        assertTrue(recurringTask.getScheduledTimes().isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Finding free time around a nightly recurring task and booking appointments into it.
+ */
+public class FreeSlotTest
+{
+    private Schedule schedule;
+    private Date startingDate;
+
+    @BeforeEach
+    public void setUp()
+    {
+        schedule = new Schedule();
+        startingDate = new Date(1, 6, 2020);
+        schedule.addTask(new RecurringTask("Nightly", "Sleep", new Timeframe(1380, 120),
+                                           startingDate, startingDate.plusDays(30), TaskFrequency.DAILY));
+        schedule.addTask(new TransientTask("Dentist", "Appointment", new Timeframe(540, 60), startingDate));
+    }
+
+    @Test
+    public void findsEarliestSlotsWithinWindow()
+    {
+        Timeframe morning = new Timeframe(480, 240);
+        assertEquals(List.of("1/6/2020 8:00 to 9:00", "1/6/2020 10:00 to 11:00", "1/6/2020 11:00 to 12:00",
+                             "1/7/2020 8:00 to 9:00"),
+                     describe(schedule.findFreeSlots(startingDate, startingDate.plusDays(5), 60, morning, 4)));
+        assertTrue(schedule.findFreeSlots(startingDate, startingDate, 300, morning, 4).isEmpty());
+        assertTrue(schedule.findFreeSlots(startingDate.getNextDay(), startingDate, 60, morning, 4).isEmpty());
+        assertThrows(InvalidTimeframeException.class, () -> schedule.findFreeSlots(startingDate, startingDate, 50, 1));
+    }
+
+    @Test
+    public void findsSlotsRunningIntoTheNextDay()
+    {
+        // 22:00 to 02:00, where only the hours around the nightly task are free.
+        Timeframe lateNight = new Timeframe(1320, 240);
+        assertEquals(List.of("1/6/2020 22:00 to 23:00", "1/7/2020 1:00 to 2:00", "1/7/2020 22:00 to 23:00"),
+                     describe(schedule.findFreeSlots(startingDate, startingDate.plusDays(5), 60, lateNight, 3)));
+
+        // Once the nightly task ends, the longest slots fit from 01:00 into the next day.
+        Timeframe fromOneOClock = new Timeframe(60, 1425);
+        List<FreeSlot> longSlots = schedule.findFreeSlots(startingDate.plusDays(30), startingDate.plusDays(33), 1425,
+                                                          fromOneOClock, 3);
+        assertEquals(List.of("2/6/2020 1:00 to 0:45", "2/7/2020 1:00 to 0:45", "2/8/2020 1:00 to 0:45"),
+                     describe(longSlots));
+    }
+
+    @Test
+    public void booksEverySlotFound()
+    {
+        List<FreeSlot> slots = schedule.findFreeSlots(startingDate, startingDate.plusDays(60), 90, 500);
+        assertEquals(500, slots.size());
+        for (int i = 0; i < slots.size(); i++)
+        {
+            FreeSlot slot = slots.get(i);
+            schedule.addTask(new TransientTask("Booking " + i, "Appointment", slot.getTimeframe(), slot.getDate()));
+        }
+        FreeSlot next = schedule.findFreeSlots(startingDate, startingDate.plusDays(60), 90, 1).get(0);
+        assertTrue(next.getDate().compareTo(slots.get(499).getDate()) >= 0);
+        assertTrue(schedule.isFree(next.getDate(), next.getTimeframe()));
+    }
+
+    private static List<String> describe(List<FreeSlot> slots)
+    {
+        return slots.stream().map(FreeSlot::toString).collect(Collectors.toList());
+    }
+}
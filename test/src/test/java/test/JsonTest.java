@@ -0,0 +1,96 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports the example data sets, merges them into a schedule and exports them again.
+ */
+public class JsonTest
+{
+    private static final File DATA_DIRECTORY = new File(System.getProperty("dataDirectory", "../data"));
+
+    @TempDir
+    File temporaryDirectory;
+
+    @Test
+    public void importsMergesAndExports()
+    {
+        Schedule schedule = new Schedule();
+        ImportJson inTest = new ImportJson(new File(DATA_DIRECTORY, "Set1.json").getPath());
+        schedule = schedule.merge(inTest.passImport());
+        assertEquals(2, schedule.getRecurringTasks().size());
+        assertEquals(1, schedule.getAntiTasks().size());
+        assertEquals(1, schedule.getTransientTasks().size());
+
+        File exported = new File(temporaryDirectory, "exported.json");
+        ExportJson exTest = new ExportJson();
+        exTest.export(schedule, exported);
+
+        Schedule reimported = new ImportJson(exported.getPath()).passImport();
+        assertEquals(2, reimported.getRecurringTasks().size());
+        assertEquals(1, reimported.getAntiTasks().size());
+        assertEquals(1, reimported.getTransientTasks().size());
+        RecurringTask cancelledTask = reimported.getRecurringTask("CS3560-Tu");
+        assertTrue(cancelledTask.hasAntiTaskOn(new Date(4, 28, 2020)));
+        assertSame(cancelledTask, reimported.getAntiTask("Skip For Visit").getCancelledTask());
+        assertEquals(new Timeframe(17.0, 2.5), reimported.getTransientTask("Intern Interview").getGeneralTimeframe());
+    }
+
+    @Test
+    public void rejectsConflictingDataSets()
+    {
+        Schedule schedule = new ImportJson(new File(DATA_DIRECTORY, "Set2.json").getPath()).passImport();
+        Schedule imported = new ImportJson(new File(DATA_DIRECTORY, "Set1.json").getPath()).passImport();
+
+        // The interview on 4/28/2020 overlaps the daily dinner.
+        assertThrows(TaskConflictException.class, () -> schedule.merge(imported));
+        assertEquals(2, schedule.getRecurringTasks().size());
+        assertNull(schedule.getTransientTask("Intern Interview"));
+    }
+
+    @Test
+    public void writesCompactJson() throws IOException
+    {
+        Schedule schedule = new ImportJson(new File(DATA_DIRECTORY, "Set1.json").getPath()).passImport();
+        StringWriter compact = new StringWriter();
+        ExportJson.export(schedule, compact, false);
+        assertFalse(compact.toString().contains("\n"));
+
+        Schedule reimported = new Schedule();
+        ImportJson.importing(new StringReader(compact.toString()), reimported);
+        assertEquals(4, reimported.getRecurringTasks().size() + reimported.getAntiTasks().size()
+                        + reimported.getTransientTasks().size());
+    }
+
+    @Test
+    public void buildsJsonObjectsFromTheWrittenFormat()
+    {
+        Date date = new Date(4, 28, 2020);
+        RecurringTask recurringTask = new RecurringTask("Class", "Class", new Timeframe(510, 90), date,
+                                                        date.plusDays(14), TaskFrequency.WEEKLY);
+        assertEquals("{\"Name\":\"Class\",\"Type\":\"Class\",\"StartDate\":\"20200428\",\"StartTime\":8.5,"
+                     + "\"Duration\":1.5,\"EndDate\":\"20200512\",\"Frequency\":7}",
+                     recurringTask.getJsonObject().toString());
+        assertEquals("{\"Name\":\"Visit\",\"Type\":\"Visit\",\"Date\":\"20200428\",\"StartTime\":8.5,\"Duration\":1.5}",
+                     new TransientTask("Visit", "Visit", new Timeframe(510, 90), date).getJsonObject().toString());
+    }
+}
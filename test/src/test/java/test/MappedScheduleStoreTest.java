@@ -0,0 +1,113 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Room bookings saved to a memory-mapped store, queried day by day and added to.
+ */
+public class MappedScheduleStoreTest
+{
+    @TempDir
+    File temporaryDirectory;
+
+    private Schedule schedule;
+    private Date startingDate;
+    private RecurringTask nightlyTask;
+    private File storeFile;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        schedule = new Schedule();
+        startingDate = new Date(1, 6, 2020);
+        nightlyTask = new RecurringTask("Nightly Cleaning", "Work", new Timeframe(1380, 120),
+                                        startingDate, startingDate.plusDays(3650), TaskFrequency.DAILY);
+        schedule.addTask(nightlyTask);
+        schedule.addTask(new AntiTask("Holiday", nightlyTask.getGeneralTimeframe(), startingDate.plusDays(7)));
+        for (int day = 0; day < 3650; day += 3)
+            schedule.addTask(new TransientTask("Booking " + day, "Appointment", new Timeframe(540, 90),
+                                               startingDate.plusDays(day)));
+        storeFile = new File(temporaryDirectory, "bookings.store");
+        MappedScheduleStore.write(schedule, storeFile);
+    }
+
+    @Test
+    public void answersDailyQueries() throws IOException
+    {
+        MappedScheduleStore store = MappedScheduleStore.open(storeFile);
+        Date date = startingDate.plusDays(3000);
+        assertEquals(schedule.getOccupancy(date), store.getOccupancy(date));
+        assertEquals(List.of("Nightly Cleaning", "Booking 3000", "Nightly Cleaning"),
+                     getTaskNames(store, date));
+        Set<Task> tasks = store.getDailyTasks(date);
+        assertEquals(2, tasks.size());
+        // Tasks are decoded once, so every query returns the same task objects.
+        assertSame(tasks.iterator().next(), store.getDailyTasks(date.getNextDay()).iterator().next());
+
+        RecurringTask restoredTask = (RecurringTask) tasks.iterator().next();
+        assertEquals(nightlyTask.getEndingDate(), restoredTask.getEndingDate());
+        assertEquals(nightlyTask.getAntiTaskDates(), restoredTask.getAntiTaskDates());
+        assertTrue(store.isFree(startingDate.plusDays(7), new Timeframe(1380, 60)));
+        assertFalse(store.isFree(startingDate.plusDays(6), new Timeframe(1410, 60)));
+        assertTrue(store.getDailyTasks(startingDate.plusDays(-1)).isEmpty());
+    }
+
+    @Test
+    public void addsTasksAndCompacts() throws IOException
+    {
+        MappedScheduleStore store = MappedScheduleStore.open(storeFile);
+        Date date = startingDate.plusDays(3001);
+        TransientTask newBooking = new TransientTask("New Booking", "Appointment", new Timeframe(540, 60), date);
+        store.addTask(newBooking);
+        assertTrue(store.getDailyTasks(date).contains(newBooking));
+        assertFalse(store.isFree(date, new Timeframe(540, 15)));
+        assertThrows(TaskConflictException.class, () -> store.addTask(
+                new TransientTask("Overlaps Cleaning", "Visit", new Timeframe(0, 60), date)));
+        assertThrows(TaskConflictException.class, () -> store.addTask(
+                new TransientTask("Overlaps Booking", "Visit", new Timeframe(570, 60), startingDate.plusDays(3000))));
+        assertThrows(TaskConflictException.class, () -> store.addTask(
+                new TransientTask("Overlaps New Booking", "Visit", new Timeframe(570, 60), date)));
+
+        File compactedFile = new File(temporaryDirectory, "compacted.store");
+        store.compact(compactedFile);
+        MappedScheduleStore compacted = MappedScheduleStore.open(compactedFile);
+        assertEquals(List.of("Nightly Cleaning", "New Booking", "Nightly Cleaning"),
+                     getTaskNames(compacted, date));
+        assertTrue(compacted.isFree(startingDate.plusDays(7), new Timeframe(1380, 60)));
+    }
+
+    private static List<String> getTaskNames(MappedScheduleStore store, Date date)
+    {
+        return store.getDailyTimeframes(date).values().stream().map(Task::getTaskName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException
+    {
+        File otherFile = new File(temporaryDirectory, "other.json");
+        Files.writeString(otherFile.toPath(), "[]");
+        assertThrows(IOException.class, () -> MappedScheduleStore.open(otherFile));
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Changes saved to a journal and recovered by opening the journal again,
+ * as if the program had crashed in between.
+ */
+public class ScheduleJournalTest
+{
+    @TempDir
+    File directory;
+
+    private Date startingDate;
+    private RecurringTask weeklyTask;
+
+    @BeforeEach
+    public void setUp()
+    {
+        startingDate = new Date(1, 6, 2020);
+        weeklyTask = new RecurringTask("Weekly", "Class", new Timeframe(1080, 90),
+                                       startingDate, startingDate.plusDays(90), TaskFrequency.WEEKLY);
+    }
+
+    @Test
+    public void recoversEveryChange() throws IOException
+    {
+        ScheduleJournal journal = ScheduleJournal.open(directory);
+        TransientTask removedTask = new TransientTask("Removed", "Visit", new Timeframe(600, 60), startingDate);
+        journal.addTask(weeklyTask);
+        journal.addTask(new AntiTask("Skip", weeklyTask.getGeneralTimeframe(), startingDate.getNextWeek()));
+        journal.addTask(new TransientTask("Fills The Void", "Visit", weeklyTask.getGeneralTimeframe(),
+                                          startingDate.getNextWeek()));
+        journal.addTask(removedTask);
+        journal.removeTask(removedTask);
+
+        Schedule recovered = ScheduleJournal.open(directory).getSchedule();
+        assertEquals(1, recovered.getRecurringTasks().size());
+        assertTrue(recovered.getRecurringTask("Weekly").hasAntiTaskOn(startingDate.getNextWeek()));
+        assertSame(recovered.getRecurringTask("Weekly"), recovered.getAntiTask("Skip").getCancelledTask());
+        assertNotNull(recovered.getTransientTask("Fills The Void"));
+        assertNull(recovered.getTransientTask("Removed"));
+    }
+
+    @Test
+    public void dropsPartlyWrittenChange() throws IOException
+    {
+        ScheduleJournal journal = ScheduleJournal.open(directory);
+        journal.addTask(weeklyTask);
+        File journalFile = new File(directory, "journal-0.log");
+        Files.write(journalFile.toPath(), new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        journal = ScheduleJournal.open(directory);
+        assertEquals(1, journal.getSchedule().getRecurringTasks().size());
+        journal.addTask(new TransientTask("After Crash", "Visit", new Timeframe(600, 60), startingDate));
+        journal.close();
+
+        Schedule recovered = ScheduleJournal.open(directory).getSchedule();
+        assertNotNull(recovered.getRecurringTask("Weekly"));
+        assertNotNull(recovered.getTransientTask("After Crash"));
+    }
+
+    @Test
+    public void reportsDamagedChangeBeforeTheEnd() throws IOException
+    {
+        ScheduleJournal journal = ScheduleJournal.open(directory);
+        journal.addTask(weeklyTask);
+        journal.addTask(new TransientTask("Second", "Visit", new Timeframe(600, 60), startingDate));
+        journal.addTask(new TransientTask("Third", "Visit", new Timeframe(720, 60), startingDate));
+        journal.close();
+
+        File journalFile = new File(directory, "journal-0.log");
+        byte[] contents = Files.readAllBytes(journalFile.toPath());
+        // Each change is its length, its contents and a checksum.
+        int second = ByteBuffer.wrap(contents).getInt(0) + 2 * Integer.BYTES;
+        contents[second + Integer.BYTES + 2] ^= 1;
+        Files.write(journalFile.toPath(), contents);
+
+        assertThrows(IOException.class, () -> ScheduleJournal.open(directory));
+        assertEquals(contents.length, journalFile.length());
+    }
+
+    @Test
+    public void savesMergesAsOneChange() throws IOException
+    {
+        Schedule imported = new Schedule();
+        imported.addTask(weeklyTask);
+        imported.addTask(new AntiTask("Skip", weeklyTask.getGeneralTimeframe(), startingDate.getNextWeek()));
+        imported.addTask(new TransientTask("Imported", "Visit", new Timeframe(600, 60), startingDate));
+        ScheduleJournal journal = ScheduleJournal.open(directory);
+        journal.addTask(new TransientTask("Existing", "Visit", new Timeframe(720, 60), startingDate));
+        journal.merge(imported);
+        journal.close();
+
+        Schedule recovered = ScheduleJournal.open(directory).getSchedule();
+        assertNotNull(recovered.getRecurringTask("Weekly"));
+        assertTrue(recovered.getRecurringTask("Weekly").hasAntiTaskOn(startingDate.getNextWeek()));
+        assertNotNull(recovered.getTransientTask("Imported"));
+
+        // A crash while the merge was written loses the whole merge, but nothing before it.
+        File journalFile = new File(directory, "journal-0.log");
+        byte[] contents = Files.readAllBytes(journalFile.toPath());
+        Files.write(journalFile.toPath(), Arrays.copyOf(contents, contents.length - 1));
+        recovered = ScheduleJournal.open(directory).getSchedule();
+        assertNotNull(recovered.getTransientTask("Existing"));
+        assertNull(recovered.getRecurringTask("Weekly"));
+        assertTrue(recovered.getAntiTasks().isEmpty());
+        assertNull(recovered.getTransientTask("Imported"));
+    }
+
+    @Test
+    public void checkpointsIntoSnapshots() throws IOException
+    {
+        ScheduleJournal journal = ScheduleJournal.open(directory, 256);
+        journal.addTask(weeklyTask);
+        for (int day = 0; day < 20; day++)
+            journal.addTask(new TransientTask("Transient " + day, "Visit", new Timeframe(600, 60),
+                                              startingDate.plusDays(day)));
+        journal.removeTask(weeklyTask);
+
+        String[] files = directory.list();
+        assertEquals(2, files.length);
+        assertTrue(List.of(files).stream().anyMatch(name -> name.startsWith("snapshot-")));
+        Schedule recovered = ScheduleJournal.open(directory).getSchedule();
+        assertEquals(20, recovered.getTransientTasks().size());
+        assertNull(recovered.getRecurringTask("Weekly"));
+    }
+
+    @Test
+    public void savesChangesFromManyThreads() throws Exception
+    {
+        ScheduleJournal journal = ScheduleJournal.open(directory);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Callable<Void>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++)
+            {
+                int offset = thread;
+                writers.add(() ->
+                {
+                    for (int day = 0; day < 25; day++)
+                        journal.addTask(new TransientTask("Transient " + offset + " " + day, "Visit",
+                                                          new Timeframe(offset * 60, 60), startingDate.plusDays(day)));
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(writers))
+                result.get();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        assertEquals(100, ScheduleJournal.open(directory).getSchedule().getTransientTasks().size());
+    }
+}
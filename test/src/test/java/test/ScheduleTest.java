@@ -0,0 +1,459 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Various runtime exceptions and a conflict between a transient and recurring task.
+ */
+public class ScheduleTest
+{
+    private Schedule schedule;
+    private Date startingDate;
+    private Date endingDate;
+    private Timeframe taskTimeframe;
+    private Timeframe otherTaskTimeframe;
+
+    @BeforeEach
+    public void setUp()
+    {
+        schedule = new Schedule();
+        startingDate = new Date(1, 3, 2020);
+        endingDate = startingDate.getNextMonth();
+        taskTimeframe = new Timeframe(1380, 120);
+        otherTaskTimeframe = new Timeframe(0, 450);
+    }
+
+    @Test
+    public void rejectsInvalidDates()
+    {
+        assertThrows(InvalidDateException.class, () -> new Date(1, 32, 2020));
+        assertThrows(InvalidDateException.class, () -> new Date(2, 30, 2020));
+        assertThrows(InvalidDateException.class, () -> new Date(13, 1, 2020));
+    }
+
+    @Test
+    public void rejectsInvalidTimeframes()
+    {
+        assertThrows(InvalidTimeframeException.class, () -> new Timeframe(1415, 15));
+        assertThrows(InvalidTimeframeException.class, () -> new Timeframe(1380, 10));
+    }
+
+    @Test
+    public void rejectsInvalidCategories()
+    {
+        assertThrows(InvalidTaskException.class, () -> new RecurringTask("Recurring", "Random", taskTimeframe,
+                                                                         startingDate, endingDate, TaskFrequency.WEEKLY));
+    }
+
+    @Test
+    public void rejectsConflictingTasks()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        TransientTask conflictingTransientTask = new TransientTask("Conflict", "Visit", taskTimeframe, startingDate);
+        TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe, startingDate);
+        schedule.addTask(recurringTask);
+
+        assertThrows(TaskConflictException.class, () -> schedule.addTask(conflictingTransientTask));
+        schedule.addTask(transientTask);
+
+        assertNull(schedule.getTransientTask("Conflict"));
+        assertSame(transientTask, schedule.getTransientTask("Transient"));
+    }
+
+    @Test
+    public void schedulesTasksIntoTheNextDay()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe, startingDate);
+        schedule.addTask(recurringTask);
+        schedule.addTask(transientTask);
+
+        // January 3rd, 10th, 17th, 24th and 31st plus the following days, except February 1st.
+        int activeDays = 0;
+        Date currentDate = new Date(1, 1, 2020);
+        for (int i = 0; i < Date.getMaxDay(1, 2020); i++)
+        {
+            Set<Task> dailyTasks = schedule.getDailyTasks(currentDate);
+            if (dailyTasks != null)
+                activeDays++;
+            currentDate = currentDate.getNextDay();
+        }
+        assertEquals(9, activeDays);
+
+        Set<Task> friday = schedule.getDailyTasks(new Date(1, 3, 2020));
+        assertEquals(2, friday.size());
+        assertTrue(friday.contains(transientTask));
+        assertEquals(Set.of(new Timeframe(1380, 60)), recurringTask.getDailyTimeframes(new Date(1, 3, 2020)));
+
+        Set<Task> saturday = schedule.getDailyTasks(new Date(1, 4, 2020));
+        assertEquals(Set.of(recurringTask), saturday);
+        assertEquals(Set.of(new Timeframe(0, 60)), recurringTask.getDailyTimeframes(new Date(1, 4, 2020)));
+
+        assertNull(schedule.getDailyTasks(new Date(1, 5, 2020)));
+    }
+
+    @Test
+    public void listsTheAgendaInOrder()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe, startingDate);
+        TransientTask sameDayTask = new TransientTask("Same Day", "Visit", new Timeframe(720, 60), startingDate.getNextDay());
+        schedule.addTask(recurringTask);
+        schedule.addTask(transientTask);
+        schedule.addTask(sameDayTask);
+
+        List<AgendaEntry> agenda = schedule.getAgenda(new Date(1, 1, 2020), new Date(1, 10, 2020));
+        assertEquals(5, agenda.size());
+        assertAgendaEntry(agenda.get(0), startingDate, otherTaskTimeframe, transientTask);
+        assertAgendaEntry(agenda.get(1), startingDate, new Timeframe(1380, 60), recurringTask);
+        assertAgendaEntry(agenda.get(2), startingDate.getNextDay(), new Timeframe(0, 60), recurringTask);
+        assertAgendaEntry(agenda.get(3), startingDate.getNextDay(), new Timeframe(720, 60), sameDayTask);
+        assertAgendaEntry(agenda.get(4), new Date(1, 10, 2020), new Timeframe(1380, 60), recurringTask);
+
+        assertTrue(schedule.getAgenda(new Date(1, 5, 2020), new Date(1, 9, 2020)).isEmpty());
+        assertTrue(schedule.getAgenda(new Date(1, 10, 2020), new Date(1, 1, 2020)).isEmpty());
+    }
+
+    @Test
+    public void findsTasksByName()
+    {
+        RecurringTask recurringTask = new RecurringTask("Shared", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        TransientTask transientTask = new TransientTask("Shared", "Visit", otherTaskTimeframe, startingDate);
+        TransientTask otherTask = new TransientTask("Shopping Trip", "Shopping", new Timeframe(600, 60), startingDate);
+        AntiTask antiTask = new AntiTask("Skip Study", taskTimeframe, new Date(1, 10, 2020));
+        schedule.addTask(recurringTask);
+        schedule.addTask(transientTask);
+        schedule.addTask(otherTask);
+        schedule.addTask(antiTask);
+
+        assertSame(transientTask, schedule.getTask("Shared"));
+        assertSame(transientTask, schedule.getTransientTask("Shared"));
+        assertSame(recurringTask, schedule.getRecurringTask("Shared"));
+        assertSame(antiTask, schedule.getAntiTask("Skip Study"));
+        assertNull(schedule.getAntiTask("Shared"));
+        assertEquals(Set.of(recurringTask, transientTask), schedule.getTasksByName("Shared"));
+        assertEquals(Set.of("Shared", "Shopping Trip"), schedule.getTaskNamesStartingWith("Sh"));
+        assertEquals(Set.of("Shopping Trip", "Skip Study"), schedule.getTaskNamesContaining("p"));
+        assertTrue(schedule.getTaskNamesStartingWith("Study").isEmpty());
+
+        Schedule copy = new Schedule(schedule);
+        schedule.removeTask(transientTask);
+        assertSame(recurringTask, schedule.getTask("Shared"));
+        assertSame(transientTask, copy.getTask("Shared"));
+
+        // Removing a recurring task removes its anti-tasks as well.
+        schedule.removeTask(recurringTask);
+        assertNull(schedule.getTask("Shared"));
+        assertNull(schedule.getTasksByName("Skip Study"));
+        assertEquals(Set.of("Shopping Trip"), schedule.getTaskNamesStartingWith(""));
+    }
+
+    @Test
+    public void copiesChangeIndependently()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe, startingDate);
+        schedule.addTask(recurringTask);
+        Schedule copy = new Schedule(schedule);
+        copy.addTask(transientTask);
+        schedule.removeTask(recurringTask);
+
+        assertNull(schedule.getDailyTasks(startingDate));
+        assertTrue(schedule.getRecurringTasks().isEmpty());
+        assertNull(schedule.getTask("Transient"));
+        assertEquals(Set.of(recurringTask, transientTask), copy.getDailyTasks(startingDate));
+        assertEquals(Set.of("Study", "Visit"), copy.getActiveCategories());
+        assertFalse(copy.isFree(startingDate, taskTimeframe));
+
+        // Copies of copies keep sharing until they change.
+        Schedule secondCopy = new Schedule(copy);
+        secondCopy.removeTask(transientTask);
+        assertEquals(3, copy.getAgenda(startingDate, startingDate.getNextDay()).size());
+        assertEquals(2, secondCopy.getAgenda(startingDate, startingDate.getNextDay()).size());
+        assertSame(transientTask, copy.getTransientTask("Transient"));
+    }
+
+    @Test
+    public void reportsEveryMergeConflict()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        TransientTask firstConflict = new TransientTask("First", "Visit", taskTimeframe, startingDate);
+        TransientTask secondConflict = new TransientTask("Second", "Visit", otherTaskTimeframe,
+                                                         startingDate.getNextWeek().getNextDay());
+        TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe, startingDate);
+        schedule.addTask(recurringTask);
+        Schedule imported = new Schedule();
+        imported.addTask(secondConflict);
+        imported.addTask(transientTask);
+        imported.addTask(firstConflict);
+
+        MergeResult result = schedule.tryMerge(imported);
+        assertFalse(result.isSuccessful());
+        assertNull(result.getSchedule());
+        // The first conflict runs into the next day, where it conflicts again.
+        assertEquals(3, result.getConflicts().size());
+        assertSame(firstConflict, result.getConflicts().get(0).getTask());
+        assertSame(recurringTask, result.getConflicts().get(0).getConflictingTask());
+        assertEquals(startingDate.getNextDay(), result.getConflicts().get(1).getDate());
+        assertSame(secondConflict, result.getConflicts().get(2).getTask());
+        assertEquals(startingDate.getNextWeek().getNextDay(), result.getConflicts().get(2).getDate());
+        assertNull(schedule.getTask("Transient"));
+
+        imported.removeTask(firstConflict);
+        imported.removeTask(secondConflict);
+        result = schedule.tryMerge(imported);
+        assertTrue(result.isSuccessful());
+        Schedule merged = result.getSchedule();
+        assertEquals(Set.of(recurringTask, transientTask), merged.getDailyTasks(startingDate));
+        assertSame(transientTask, merged.getTask("Transient"));
+        assertEquals(Set.of("Study", "Visit"), merged.getActiveCategories());
+
+        // The merged schedule shares timelines with the imported one but changes independently.
+        imported.removeTask(transientTask);
+        assertSame(transientTask, merged.getTask("Transient"));
+        assertFalse(merged.isFree(startingDate, otherTaskTimeframe));
+        assertNull(schedule.getTask("Transient"));
+    }
+
+    @Test
+    public void addsBatchesAllOrNothing()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        AntiTask antiTask = new AntiTask("Skip Study", taskTimeframe, startingDate);
+        TransientTask fillingTask = new TransientTask("Filler", "Visit", taskTimeframe, startingDate);
+        schedule.addTasks(List.of(fillingTask, antiTask, recurringTask));
+
+        assertEquals(Set.of(fillingTask), schedule.getDailyTasks(startingDate));
+        assertSame(recurringTask, antiTask.getCancelledTask());
+        assertEquals(3, schedule.getAgenda(startingDate, startingDate.getNextWeek()).size());
+
+        // The second batch conflicts within itself, so its anti-task is not applied either.
+        Date nextWeek = startingDate.getNextWeek();
+        RecurringTask otherRecurringTask = new RecurringTask("Lunch", "Meal", new Timeframe(720, 60),
+                                                             startingDate, endingDate, TaskFrequency.WEEKLY);
+        schedule.addTask(otherRecurringTask);
+        AntiTask otherAntiTask = new AntiTask("Skip Lunch", new Timeframe(720, 60), nextWeek);
+        TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe, nextWeek);
+        TransientTask conflictingTask = new TransientTask("Conflict", "Visit", new Timeframe(60, 60), nextWeek);
+        assertThrows(TaskConflictException.class,
+                     () -> schedule.addTasks(List.of(otherAntiTask, transientTask, conflictingTask)));
+
+        assertNull(otherAntiTask.getCancelledTask());
+        assertEquals(Set.of(recurringTask, otherRecurringTask), schedule.getDailyTasks(nextWeek));
+        assertNull(schedule.getTask("Transient"));
+        assertNull(schedule.getTask("Skip Lunch"));
+        assertEquals(Set.of(antiTask), schedule.getAntiTasks());
+    }
+
+    @Test
+    public void publishesImmutableSnapshots()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Study", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.DAILY);
+        TransientTask transientTask = new TransientTask("Transient", "Visit", new Timeframe(600, 60), startingDate);
+        schedule.addTask(recurringTask);
+        ScheduleSnapshot before = schedule.getSnapshot();
+        schedule.addTask(transientTask);
+        ScheduleSnapshot after = schedule.getSnapshot();
+
+        assertEquals(Set.of(recurringTask), before.getDailyTasks(startingDate));
+        assertNull(before.getTask("Transient"));
+        assertTrue(before.getTasksByCategory("Visit").isEmpty());
+        assertTrue(before.isFree(startingDate, new Timeframe(600, 60)));
+
+        // The recurring task runs into the day and starts again on it, but is only listed once.
+        Date nextDay = startingDate.getNextDay();
+        schedule.addTask(new TransientTask("Next Day", "Visit", new Timeframe(600, 60), nextDay));
+        assertEquals(List.of(recurringTask, schedule.getTask("Next Day")),
+                     List.copyOf(schedule.getSnapshot().getDailyTasks(nextDay)));
+        assertEquals(3, schedule.getSnapshot().getDailyTimeframes(nextDay).size());
+        assertEquals(Set.of(recurringTask), after.getDailyTasks(nextDay));
+
+        assertEquals(Set.of(recurringTask, transientTask), after.getDailyTasks(startingDate));
+        assertSame(transientTask, after.getTask("Transient"));
+        assertEquals(Set.of(transientTask), after.getTasksByCategory("Visit"));
+        assertThrows(UnsupportedOperationException.class, () -> after.getTasksByCategory("Visit").clear());
+        assertTrue(after.getDailyTasks(startingDate.plusDays(-1)).isEmpty());
+    }
+
+    @Test
+    public void comparesAgendasBetweenSnapshots()
+    {
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Class", taskTimeframe,
+                                                        startingDate, endingDate, TaskFrequency.WEEKLY);
+        schedule.addTask(recurringTask);
+        ScheduleSnapshot before = schedule.getSnapshot();
+        Date addedDate = startingDate.plusDays(10);
+        schedule.addTask(new TransientTask("Transient", "Visit", new Timeframe(600, 60), addedDate));
+        ScheduleSnapshot after = schedule.getSnapshot();
+
+        assertTrue(after.hasSameAgenda(before, startingDate, addedDate.getPreviousDay()));
+        assertTrue(after.hasSameAgenda(before, addedDate.getNextDay(), endingDate));
+        assertFalse(after.hasSameAgenda(before, startingDate, endingDate));
+        assertFalse(before.hasSameAgenda(after, addedDate, addedDate));
+
+        schedule.removeTask((TransientTask) schedule.getTask("Transient"));
+        assertFalse(schedule.getSnapshot().hasSameAgenda(after, addedDate, addedDate));
+        assertTrue(schedule.getSnapshot().hasSameAgenda(before, addedDate, addedDate));
+    }
+
+    @Test
+    public void readsSnapshotsWhileAnotherThreadWrites() throws Exception
+    {
+        TransientTask fixedTask = new TransientTask("Fixed", "Visit", new Timeframe(600, 60), startingDate);
+        schedule.addTask(fixedTask);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() ->
+        {
+            try
+            {
+                while (writing.get())
+                {
+                    SortedMap<Timeframe, Task> timeframes = schedule.getSnapshot().getDailyTimeframes(startingDate);
+                    int size = timeframes.size();
+                    int count = 0;
+                    for (Map.Entry<Timeframe, Task> entry : timeframes.entrySet())
+                        count++;
+                    // Every snapshot holds the fixed task, with or without the one being added and removed.
+                    assertTrue(size == 1 || size == 2);
+                    assertEquals(size, count);
+                    assertEquals(size, timeframes.size());
+                    assertSame(fixedTask, timeframes.get(new Timeframe(600, 60)));
+                }
+            }
+            catch (Throwable e)
+            {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        try
+        {
+            for (int i = 0; i < 50000 && failure.get() == null; i++)
+            {
+                TransientTask transientTask = new TransientTask("Transient " + i, "Visit", otherTaskTimeframe, startingDate);
+                schedule.addTask(transientTask);
+                schedule.removeTask(transientTask);
+            }
+        }
+        finally
+        {
+            writing.set(false);
+            reader.join();
+        }
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void reportsChangesToListeners()
+    {
+        List<List<ScheduleChange>> batches = new ArrayList<>();
+        schedule.addListener((snapshot, changes) ->
+        {
+            assertSame(schedule.getSnapshot(), snapshot);
+            batches.add(changes);
+        });
+        RecurringTask recurringTask = new RecurringTask("Recurring", "Class", taskTimeframe,
+                                                        startingDate, startingDate.plusDays(14), TaskFrequency.WEEKLY);
+        AntiTask antiTask = new AntiTask("Anti", taskTimeframe, startingDate.getNextWeek());
+        TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe,
+                                                        startingDate.getNextWeek().getNextDay());
+        schedule.addTasks(List.of(transientTask, antiTask, recurringTask));
+        assertEquals(1, batches.size());
+        assertEquals(List.of(ScheduleChange.Type.TASK_ADDED, ScheduleChange.Type.ANTI_TASK_APPLIED,
+                             ScheduleChange.Type.TASK_ADDED),
+                     batches.get(0).stream().map(ScheduleChange::getType).collect(Collectors.toList()));
+        // The recurring task runs past midnight, so each occurence affects two days.
+        assertEquals(Set.of(startingDate, startingDate.getNextDay(), startingDate.plusDays(14), startingDate.plusDays(15)),
+                     batches.get(0).get(0).getAffectedDates());
+        assertEquals(Set.of(startingDate.getNextWeek(), startingDate.plusDays(8)),
+                     batches.get(0).get(1).getAffectedDates());
+
+        assertThrows(TaskConflictException.class, () -> schedule.removeTask(antiTask));
+        assertEquals(1, batches.size());
+
+        schedule.removeTask(transientTask);
+        schedule.removeTask(antiTask);
+        assertEquals(ScheduleChange.Type.ANTI_TASK_RESTORED, batches.get(2).get(0).getType());
+        assertEquals(Set.of(startingDate.getNextWeek(), startingDate.plusDays(8)),
+                     batches.get(2).get(0).getAffectedDates());
+
+        schedule.addTask(antiTask);
+        schedule.removeTask(recurringTask);
+        List<ScheduleChange> removed = batches.get(4);
+        assertEquals(2, removed.size());
+        assertSame(recurringTask, removed.get(0).getTask());
+        assertSame(antiTask, removed.get(1).getTask());
+        assertTrue(removed.get(1).getAffectedDates().isEmpty());
+
+        // Copies start without listeners.
+        new Schedule(schedule).addTask(transientTask);
+        assertEquals(5, batches.size());
+    }
+
+    @Test
+    public void reportsFailingListenersWithoutStoppingOthers()
+    {
+        List<Throwable> reported = new ArrayList<>();
+        List<List<ScheduleChange>> batches = new ArrayList<>();
+        schedule.addListener((snapshot, changes) ->
+        {
+            throw new IllegalStateException("Listener failed");
+        });
+        schedule.addListener((snapshot, changes) -> batches.add(changes));
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((failedThread, e) -> reported.add(e));
+        try
+        {
+            TransientTask transientTask = new TransientTask("Transient", "Visit", otherTaskTimeframe, startingDate);
+            schedule.addTask(transientTask);
+            assertSame(transientTask, schedule.getTask("Transient"));
+        }
+        finally
+        {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+        assertEquals(1, reported.size());
+        assertEquals("Listener failed", reported.get(0).getMessage());
+        assertEquals(1, batches.size());
+    }
+
+    private static void assertAgendaEntry(AgendaEntry entry, Date date, Timeframe timeframe, Task task)
+    {
+        assertEquals(date, entry.getDate());
+        assertEquals(timeframe, entry.getTimeframe());
+        assertSame(task, entry.getTask());
+    }
+}
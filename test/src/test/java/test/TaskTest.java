@@ -0,0 +1,67 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+package test;
+
+import core.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Daily timeframes and conflicts of individual tasks, outside of a schedule.
+ */
+public class TaskTest
+{
+    private final Timeframe lateTimeframe = new Timeframe(1380, 120);
+
+    @Test
+    public void detectsConflictsBetweenTasks()
+    {
+        RecurringTask weekly = new RecurringTask("Weekly", "Study", lateTimeframe,
+                                                 new Date(1, 3, 2020), new Date(1, 31, 2020), TaskFrequency.WEEKLY);
+        RecurringTask monthly = new RecurringTask("Monthly", "Work", new Timeframe(0, 30),
+                                                  new Date(1, 11, 2020), new Date(6, 11, 2020), TaskFrequency.MONTHLY);
+        RecurringTask later = new RecurringTask("Later", "Work", new Timeframe(0, 30),
+                                                new Date(2, 2, 2020), new Date(6, 2, 2020), TaskFrequency.DAILY);
+        TransientTask runoffConflict = new TransientTask("Runoff", "Visit", new Timeframe(30, 15), new Date(2, 1, 2020));
+        TransientTask noConflict = new TransientTask("Free", "Visit", new Timeframe(60, 60), new Date(1, 4, 2020));
+
+        // The occurence on January 10th runs into the monthly task on January 11th.
+        assertTrue(weekly.conflictsWith(monthly));
+        assertTrue(monthly.conflictsWith(weekly));
+        assertFalse(weekly.conflictsWith(later));
+        assertTrue(weekly.conflictsWith(runoffConflict));
+        assertTrue(runoffConflict.conflictsWith(weekly));
+        assertFalse(weekly.conflictsWith(noConflict));
+        assertFalse(noConflict.conflictsWith(weekly));
+    }
+
+    @Test
+    public void sharesReadOnlyTimeframes()
+    {
+        RecurringTask daily = new RecurringTask("Daily", "Sleep", lateTimeframe,
+                                                new Date(1, 1, 2020), new Date(1, 5, 2020), TaskFrequency.DAILY);
+        Set<Timeframe> timeframes = daily.getDailyTimeframes(new Date(1, 2, 2020));
+        assertEquals(Set.of(new Timeframe(0, 60), new Timeframe(1380, 60)), timeframes);
+        assertSame(timeframes, daily.getDailyTimeframes(new Date(1, 3, 2020)));
+        assertEquals(Set.of(new Timeframe(1380, 60)), daily.getDailyTimeframes(new Date(1, 1, 2020)));
+        assertEquals(Set.of(new Timeframe(0, 60)), daily.getDailyTimeframes(new Date(1, 6, 2020)));
+        assertNull(daily.getDailyTimeframes(new Date(1, 7, 2020)));
+        assertThrows(UnsupportedOperationException.class, () -> timeframes.add(new Timeframe(60, 15)));
+
+        TransientTask transientTask = new TransientTask("Visit", "Visit", lateTimeframe, new Date(1, 1, 2020));
+        assertThrows(UnsupportedOperationException.class, () -> transientTask.getScheduledTimes().clear());
+        assertEquals(Set.of(new Timeframe(0, 60)), transientTask.getDailyTimeframes(new Date(1, 2, 2020)));
+        assertNull(transientTask.getDailyTimeframes(new Date(1, 3, 2020)));
+    }
+}
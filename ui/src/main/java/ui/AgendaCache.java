@@ -0,0 +1,201 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team (Head Honcho)
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+
+package ui;
+
+import core.AgendaEntry;
+import core.Date;
+import core.Schedule;
+import core.ScheduleChange;
+import core.ScheduleListener;
+import core.ScheduleSnapshot;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the agendas of recently shown or prefetched pages of the day, week and month views,
+ * gathering missing ones on a background thread.
+ * Each page remembers the schedule snapshot it was gathered from, and is gathered again only if a
+ * later snapshot changed one of its dates, so a change to one day leaves every other page cached.
+ * Listening to a schedule also drops the pages of changed dates as soon as a change is made.
+ * Only use it from the JavaFX application thread.
+ */
+public class AgendaCache implements ScheduleListener {
+
+    private static final int CAPACITY = 64;
+
+    private final Executor executor;
+
+    // Least Recently Used Page First
+    private final Map<Page, CachedAgenda> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Page, CachedAgenda> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    private final Map<Page, Loading> loading = new HashMap<>();
+
+    /**
+     * Creates an empty cache.
+     * @param executor The executor to gather agendas on.
+     */
+    public AgendaCache(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the agenda of a range of dates, right away if it is cached and still up to date,
+     * or once it has been gathered in the background otherwise.
+     * @param schedule The schedule to get the agenda from.
+     * @param from The first date of the page.
+     * @param to The last date of the page.
+     * @param onLoaded Called on the application thread with the agenda.
+     */
+    public void get(Schedule schedule, Date from, Date to, Consumer<List<AgendaEntry>> onLoaded) {
+        ScheduleSnapshot snapshot = schedule.getSnapshot();
+        Page page = new Page(from, to);
+        List<AgendaEntry> agenda = getCached(page, snapshot);
+        if (agenda != null)
+            onLoaded.accept(agenda);
+        else
+            load(page, snapshot).callbacks.add(onLoaded);
+    }
+
+    /**
+     * Gathers the agenda of a range of dates in the background unless it is already cached and up to date.
+     * @param schedule The schedule to get the agenda from.
+     * @param from The first date of the page.
+     * @param to The last date of the page.
+     */
+    public void prefetch(Schedule schedule, Date from, Date to) {
+        ScheduleSnapshot snapshot = schedule.getSnapshot();
+        Page page = new Page(from, to);
+        if (getCached(page, snapshot) == null)
+            load(page, snapshot);
+    }
+
+    /**
+     * Drops every cached page containing a date whose agenda changed.
+     * @param snapshot The snapshot published by the changes.
+     * @param changes The changes made.
+     */
+    @Override
+    public void scheduleChanged(ScheduleSnapshot snapshot, List<ScheduleChange> changes) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> scheduleChanged(snapshot, changes));
+            return;
+        }
+        TreeSet<Date> dates = new TreeSet<>();
+        for (ScheduleChange change : changes)
+            dates.addAll(change.getAffectedDates());
+        pages.keySet().removeIf(page -> {
+            Date date = dates.ceiling(page.from);
+            return date != null && date.compareTo(page.to) <= 0;
+        });
+    }
+
+    private List<AgendaEntry> getCached(Page page, ScheduleSnapshot snapshot) {
+        CachedAgenda cached = pages.get(page);
+        if (cached == null)
+            return null;
+        if (!snapshot.hasSameAgenda(cached.snapshot, page.from, page.to)) {
+            pages.remove(page);
+            return null;
+        }
+        // Later checks can start from the newer snapshot.
+        cached.snapshot = snapshot;
+        return cached.agenda;
+    }
+
+    private Loading load(Page page, ScheduleSnapshot snapshot) {
+        Loading current = loading.get(page);
+        if (current != null && current.snapshot == snapshot)
+            return current;
+
+        Loading next = new Loading(snapshot);
+        if (current != null)
+            next.callbacks.addAll(current.callbacks);
+        Task<List<AgendaEntry>> task = new Task<>() {
+            @Override
+            protected List<AgendaEntry> call() {
+                return Collections.unmodifiableList(snapshot.getAgenda(page.from, page.to));
+            }
+        };
+        task.setOnSucceeded(e -> {
+            // A newer load of the same page replaces this one.
+            if (loading.get(page) != next)
+                return;
+            loading.remove(page);
+            pages.put(page, new CachedAgenda(snapshot, task.getValue()));
+            for (Consumer<List<AgendaEntry>> callback : next.callbacks)
+                callback.accept(task.getValue());
+        });
+        task.setOnFailed(e -> loading.remove(page, next));
+        loading.put(page, next);
+        executor.execute(task);
+        return next;
+    }
+
+    /**
+     * The range of dates shown by one page of a view.
+     */
+    private static final class Page {
+        private final Date from, to;
+
+        Page(Date from, Date to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Page))
+                return false;
+            Page page = (Page) object;
+            return from.equals(page.from) && to.equals(page.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(from, to);
+        }
+    }
+
+    private static final class CachedAgenda {
+        private ScheduleSnapshot snapshot;
+        private final List<AgendaEntry> agenda;
+
+        CachedAgenda(ScheduleSnapshot snapshot, List<AgendaEntry> agenda) {
+            this.snapshot = snapshot;
+            this.agenda = agenda;
+        }
+    }
+
+    private static final class Loading {
+        private final ScheduleSnapshot snapshot;
+        private final List<Consumer<List<AgendaEntry>>> callbacks = new ArrayList<>();
+
+        Loading(ScheduleSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team (Head Honcho)
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+
+package ui;
+
+import core.*;
+
+import javafx.geometry.HPos;
+import javafx.geometry.VPos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+
+import java.util.List;
+
+/**
+ * Grid of day cells used by the week and month views.
+ * The labels are created once and reused every time the view moves to other dates,
+ * and a cell's label is only updated when the text for its day is different from what it shows.
+ * Agendas come from a shared cache, which also prefetches the pages before and after the one shown.
+ */
+public class CalendarView extends GridPane {
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    private final Label[] weekDays = new Label[DAYS_PER_WEEK];
+    private final Label[] cells;
+    private final String[] cellTexts;
+    private final StringBuilder builder = new StringBuilder();
+    private final AgendaCache agendaCache;
+    private Date requestedDate;
+
+    /**
+     * Creates the grid with one row of day names and the given number of week rows.
+     * @param weeks The number of weeks shown at once.
+     * @param agendaCache The cache to get agendas from.
+     */
+    public CalendarView(int weeks, AgendaCache agendaCache) {
+        this.agendaCache = agendaCache;
+        setVgap(5);
+        setHgap(5);
+        setGridLinesVisible(true);
+        for (int i = 0; i < DAYS_PER_WEEK; i++)
+            getColumnConstraints().add(new ColumnConstraints(200));    // column 0 ~ 6 is 200 wide
+        getRowConstraints().add(new RowConstraints(25));               // row 0 is 25 wide
+
+        for (int i = 0; i < DAYS_PER_WEEK; i++) {
+            weekDays[i] = new Label();
+            add(weekDays[i], i, 0);
+            setHalignment(weekDays[i], HPos.CENTER);
+        }
+
+        cells = new Label[weeks * DAYS_PER_WEEK];
+        cellTexts = new String[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new Label();
+            add(cells[i], i % DAYS_PER_WEEK, 1 + i / DAYS_PER_WEEK);
+            setHalignment(cells[i], HPos.CENTER);
+            setValignment(cells[i], VPos.TOP);
+        }
+    }
+
+    /**
+     * Shows consecutive days starting on the given date, one per cell.
+     * @param schedule The schedule to get the tasks from.
+     * @param firstDate The date of the first cell.
+     */
+    public void showWeek(Schedule schedule, Date firstDate) {
+        show(schedule, firstDate, 0);
+        agendaCache.prefetch(schedule, firstDate.plusDays(-cells.length), firstDate.getPreviousDay());
+        agendaCache.prefetch(schedule, firstDate.plusDays(cells.length), firstDate.plusDays(2 * cells.length - 1));
+    }
+
+    /**
+     * Shows the weeks around a month, starting on the Monday on or before the first of the month.
+     * Days of the neighbouring months are dimmed.
+     * @param schedule The schedule to get the tasks from.
+     * @param firstOfMonth The first day of the month to show.
+     */
+    public void showMonth(Schedule schedule, Date firstOfMonth) {
+        show(schedule, getFirstDate(firstOfMonth), firstOfMonth.getMonth());
+        for (int months = -1; months <= 1; months += 2) {
+            Date firstDate = getFirstDate(firstOfMonth.plusMonths(months));
+            agendaCache.prefetch(schedule, firstDate, firstDate.plusDays(cells.length - 1));
+        }
+    }
+
+    private static Date getFirstDate(Date firstOfMonth) {
+        return firstOfMonth.plusDays(-firstOfMonth.getWeekday().ordinal());
+    }
+
+    private void show(Schedule schedule, Date firstDate, int month) {
+        requestedDate = firstDate;
+        agendaCache.get(schedule, firstDate, firstDate.plusDays(cells.length - 1), agenda -> {
+            // Pages asked for earlier may arrive after the latest one.
+            if (firstDate.equals(requestedDate))
+                show(agenda, firstDate, month);
+        });
+    }
+
+    private void show(List<AgendaEntry> agenda, Date firstDate, int month) {
+        for (int i = 0; i < DAYS_PER_WEEK; i++) {
+            String dayString = firstDate.plusDays(i).getWeekday().toString();
+            if (!dayString.equals(weekDays[i].getText()))
+                weekDays[i].setText(dayString);
+        }
+
+        int agendaIndex = 0;
+        Date date = firstDate;
+        for (int i = 0; i < cells.length; i++) {
+            builder.setLength(0);
+            builder.append("\n\nDate: ").append(date).append('\n');
+            int firstIndex = agendaIndex;
+            for (; agendaIndex < agenda.size() && agenda.get(agendaIndex).getDate().equals(date); agendaIndex++)
+                appendEntry(builder, agenda.get(agendaIndex));
+            if (agendaIndex == firstIndex)
+                builder.append("\nNo tasks today!");      //no task
+
+            if (cellTexts[i] == null || !cellTexts[i].contentEquals(builder)) {
+                cellTexts[i] = builder.toString();
+                cells[i].setText(cellTexts[i]);
+            }
+            cells[i].setOpacity(month == 0 || date.getMonth() == month ? 1 : 0.5);
+            date = date.getNextDay();
+        }
+    }
+
+    /**
+     * Appends the name, category and time of an agenda entry.
+     * @param builder The builder to append to.
+     * @param entry The entry to describe.
+     * @return The given builder.
+     */
+    public static StringBuilder appendEntry(StringBuilder builder, AgendaEntry entry) {
+        Task task = entry.getTask();
+        builder.append("Task Name: ").append(task.getTaskName()).append('\n');          // task name
+        builder.append("Task Category: ").append(task.getCategory()).append('\n');      // task category
+        builder.append("Task time: ").append(entry.getTimeframe()).append('\n');        // task time frame
+        return builder;
+    }
+}
@@ -40,13 +40,17 @@ public class Main extends Application {
     private Label dayDailyTasks = new Label();  // set of Task display
     private Label dayDailyDateString = new Label(); // weekDay display i.e. Sunday, Monday, ...
 
+    // Reads, Writes & Gathers Agendas Off The Application Thread
+    private ScheduleWorker worker = new ScheduleWorker();
+    private AgendaCache agendaCache = new AgendaCache(worker.getExecutor());
+
     // WeekFormatScene
     private BorderPane bpWeek = new BorderPane();
     private VBox bpWeekTopSection = new VBox();
     private ScrollPane bpWeekMidSection = new ScrollPane();
     private GridPane bpWeekNestedMidSection = new GridPane();
     private HBox bpWeekBottomSection = new HBox();
-    private Label[] weekDailyTasks = new Label[7];
+    private CalendarView weekView = new CalendarView(1, agendaCache);     // cells are reused when changing weeks
 
     // MonthFormatScene
     private BorderPane bpMonth = new BorderPane();
@@ -54,7 +58,7 @@ public class Main extends Application {
     private ScrollPane bpMonthMidSection = new ScrollPane();
     private GridPane bpMonthNestedMidSection = new GridPane();
     private HBox bpMonthBottomSection = new HBox();
-    private Label[] monthDailyTasks = new Label[7];
+    private CalendarView monthView = new CalendarView(6, agendaCache);    // 6 weeks fit any month
 
     private LocalDate today = LocalDate.now();
     private Date currentSelectionDateWeek = new Date(today.getMonthValue(), today.getDayOfMonth(), today.getYear());
@@ -100,8 +104,8 @@ public class Main extends Application {
     private GridPane gp = new GridPane();
     private GridPane deleteGP = new GridPane();
     private Schedule scheduleObj = new Schedule();
-    private ImportJson importJson = new ImportJson();
-    private ExportJson exportJson = new ExportJson();
+    // Saves Every Change As It Is Made
+    private ScheduleJournal journal;
 
     private ChoiceBox<String> nameOptions = new ChoiceBox<>();
     private ChoiceBox<String> activeCategoryBox = new ChoiceBox<>();
@@ -110,6 +114,9 @@ public class Main extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception{
 
+        journal = ScheduleJournal.open(new File(System.getProperty("user.home"), ".pss"));
+        scheduleObj = journal.getSchedule();
+        scheduleObj.addListener(agendaCache);
         primaryStage.setTitle("PSS");
         taskTypeBox.getItems().addAll("Recurring", "Transient", "Anti Task");
         freqChoice.getItems().addAll("Daily", "Weekly", "Monthly");
@@ -271,11 +278,11 @@ public class Main extends Application {
                 Task selectedTask = scheduleObj.getTask(nameOptions.getValue());
                 if (activeCategoryBox.getValue().equals("Visit") || activeCategoryBox.getValue().equals("Shopping") ||
                         activeCategoryBox.getValue().equals("Appointment"))
-                    scheduleObj.removeTask((TransientTask) selectedTask);
+                    journal.removeTask((TransientTask) selectedTask);
                 else if (activeCategoryBox.getValue().equals("Cancellation"))
-                    scheduleObj.removeTask((AntiTask) selectedTask);
+                    journal.removeTask((AntiTask) selectedTask);
                 else
-                    scheduleObj.removeTask((RecurringTask) selectedTask);
+                    journal.removeTask((RecurringTask) selectedTask);
                 Alert deletedAlert = new Alert(Alert.AlertType.INFORMATION);
                 deletedAlert.setHeaderText("Task successfully deleted.");
                 deletedAlert.showAndWait();
@@ -371,10 +378,12 @@ public class Main extends Application {
         FileChooser fileChooser = new FileChooser();
         fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("JSON Files","*.json"));
         curFilePath = fileChooser.showOpenDialog(primaryStage);
-        if(curFilePath != null) {
-            importJson.getFromUINoReturn(curFilePath);
-            scheduleObj = scheduleObj.merge(importJson.passImport());
-        }
+        if(curFilePath != null)
+            worker.importing(curFilePath, journal, primaryStage, merged -> {
+                scheduleObj.removeListener(agendaCache);
+                scheduleObj = merged;
+                scheduleObj.addListener(agendaCache);
+            });
     }
 
     public void saveFile(){
@@ -382,7 +391,7 @@ public class Main extends Application {
         fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("JSON Files","*.json"));
         curFilePath = fileChooser.showSaveDialog(primaryStage);
         if(curFilePath != null)
-            exportJson.export(scheduleObj, curFilePath);
+            worker.exporting(new Schedule(scheduleObj), curFilePath, primaryStage);     // copy stays the same while it is written
     }
 
     public void buildAddTaskScene(){
@@ -505,7 +514,7 @@ public class Main extends Application {
             frequency = TaskFrequency.MONTHLY;
         RecurringTask newTask = new RecurringTask(name, category, timeframe, startDate, endDate, frequency);
         try {
-            scheduleObj.addTask(newTask);
+            journal.addTask(newTask);
         } catch (Exception e){
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setHeaderText(e.getMessage());
@@ -522,7 +531,7 @@ public class Main extends Application {
 
         TransientTask newTask = new TransientTask(name, category, timeframe, startDate);
         try {
-            scheduleObj.addTask(newTask);
+            journal.addTask(newTask);
         } catch (Exception e){
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setHeaderText(e.getMessage());
@@ -551,7 +560,7 @@ public class Main extends Application {
 
         AntiTask newTask = new AntiTask(name, timeframe, startDate);
         try {
-            scheduleObj.addTask(newTask);
+            journal.addTask(newTask);
         } catch (Exception e){
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setHeaderText(e.getMessage());
@@ -641,35 +650,18 @@ public class Main extends Application {
         gp.getRowConstraints().add(new RowConstraints(1500));
         gp.getColumnConstraints().add(new ColumnConstraints(700));
 
-        Weekday weekDayName = currentSelectionDateDay.getWeekday();
-        String dayString = weekDayName.toString();
         Label lb = new Label();
-        lb.setText(dayString);
         dayDailyDateString = lb;
         gp.add(dayDailyDateString, 0, 0);
         gp.setHalignment(dayDailyDateString, HPos.CENTER);
 
-        Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateDay);
-        String taskString = "\n\n" + "Date: " + currentSelectionDateDay.toString() + "\n";
-
-        if (dailyTasks != null && dailyTasks.size() > 0) {
-            for (Task task : dailyTasks) {
-                taskString += "Task Name: " + task.getTaskName() + "\n"; // task name
-                taskString += "Task Category: " + task.getCategory() + "\n"; // task category
-                taskString += "Task time: ";
-                for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateDay))
-                    taskString +=(timeframe) + "\n"; // task time frame
-            }
-        } else
-            taskString += "\nNo tasks today!";
-
         Label lb1 = new Label();
-        lb1.setText(taskString);
         dayDailyTasks = lb1;
         gp.add(dayDailyTasks, 0, 1);
         gp.setHalignment(dayDailyTasks, HPos.CENTER);
         gp.setValignment(dayDailyTasks, VPos.TOP);
 
+        showDay();
         return gp;
     }
     public HBox bpDayBottomSectionInitializer(){
@@ -683,24 +675,7 @@ public class Main extends Application {
         previous.setOnAction(e -> {
             System.out.println("previous day");
             currentSelectionDateDay = currentSelectionDateDay.getPreviousDay();
-            Weekday weekDayName = currentSelectionDateDay.getWeekday();
-            String dayString = weekDayName.toString();
-            dayDailyDateString.setText(dayString);
-
-            Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateDay);
-            String taskString = "\n\n" + "Date: " + currentSelectionDateDay.toString() + "\n";
-
-            if (dailyTasks != null && dailyTasks.size() > 0) {
-                for (Task task : dailyTasks) {
-                    taskString += "Task Name: " + task.getTaskName() + "\n"; // task name
-                    taskString += "Task Category: " + task.getCategory() + "\n"; // task category
-                    taskString += "Task time: ";
-                    for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateDay))
-                        taskString +=(timeframe) + "\n"; // task time frame
-                }
-            } else
-                taskString += "\nNo tasks today!";
-            dayDailyTasks.setText(taskString);
+            showDay();
         });
 
         Button next = new Button("Next");
@@ -708,76 +683,34 @@ public class Main extends Application {
         next.setOnAction(e -> {
             System.out.println("next day");
             currentSelectionDateDay = currentSelectionDateDay.getNextDay();
-            Weekday weekDayName = currentSelectionDateDay.getWeekday();
-            String dayString = weekDayName.toString();
-            dayDailyDateString.setText(dayString);
-
-            Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateDay);
-            String taskString = "\n\n" + "Date: " + currentSelectionDateDay.toString() + "\n";
-
-            if (dailyTasks != null && dailyTasks.size() > 0) {
-                for (Task task : dailyTasks) {
-                    taskString += "Task Name: " + task.getTaskName() + "\n"; // task name
-                    taskString += "Task Category: " + task.getCategory() + "\n"; // task category
-                    taskString += "Task time: ";
-                    for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateDay))
-                        taskString +=(timeframe) + "\n"; // task time frame
-                }
-            } else
-                taskString += "\nNo tasks today!";
-            dayDailyTasks.setText(taskString);
+            showDay();
         });
         hbox.setAlignment(Pos.CENTER);
         hbox.getChildren().addAll(previous, next);
         return hbox;
     }
 
+    public void showDay(){
+        Date date = currentSelectionDateDay;
+        dayDailyDateString.setText(date.getWeekday().toString());
+        agendaCache.get(scheduleObj, date, date, agenda -> {
+            if (!date.equals(currentSelectionDateDay))
+                return;
+            StringBuilder taskString = new StringBuilder("\n\nDate: ").append(date).append('\n');
+            for (AgendaEntry entry : agenda)
+                CalendarView.appendEntry(taskString, entry);
+            if (agenda.isEmpty())
+                taskString.append("\nNo tasks today!");
+            dayDailyTasks.setText(taskString.toString());
+        });
+        agendaCache.prefetch(scheduleObj, date.getPreviousDay(), date.getPreviousDay());
+        agendaCache.prefetch(scheduleObj, date.getNextDay(), date.getNextDay());
+    }
+
     public GridPane bpWeekNestedMidSectionInitializer(){
         currentSelectionDateWeek = new Date(today.getMonthValue(), today.getDayOfMonth(), today.getYear());
-        GridPane gp = new GridPane();
-        gp.setVgap(5);
-        gp.setHgap(5);
-        gp.setGridLinesVisible(true);
-        for (int i = 0; i < 7; i++)
-            gp.getColumnConstraints().add(new ColumnConstraints(200));  // column 0 ~ 6 is 200 wide
-        gp.getRowConstraints().add(new RowConstraints(25));             // row 0 is 25 wide
-        gp.getRowConstraints().add(new RowConstraints(3000));           // row 1 is 3000 wide
-
-        Label[] weekDays = new Label[7];
-        for(int i = 0; i < 7; i++) {
-            // Weekday display
-            Weekday weekDayName = currentSelectionDateWeek.getWeekday();
-            String dayString = weekDayName.toString();
-            Label lb = new Label();
-            lb.setText(dayString);
-            weekDays[i] = lb;
-            gp.add(weekDays[i], i, 0);
-            gp.setHalignment(weekDays[i], HPos.CENTER);
-
-            // Weekday Task
-            Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateWeek);
-            String taskString = "\n\n" + "Date: " + currentSelectionDateWeek.toString() + "\n";
-
-            if (dailyTasks != null && dailyTasks.size() > 0) {
-                for (Task task : dailyTasks) {
-                    taskString += "Task Name: " + task.getTaskName() + "\n"; // task name
-                    taskString += "Task Category: " + task.getCategory() + "\n"; // task category
-                    taskString += "Task time: ";
-                    for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateWeek))
-                        taskString +=(timeframe) + "\n"; // task time frame
-                }
-            } else
-                taskString += "\nNo tasks today!";      //no task
-            currentSelectionDateWeek = currentSelectionDateWeek.getNextDay();
-
-            Label lb1 = new Label();
-            lb1.setText(taskString);
-            weekDailyTasks[i] = lb1;
-            gp.add(weekDailyTasks[i], i, 1);
-            gp.setHalignment(weekDailyTasks[i], HPos.CENTER);
-            gp.setValignment(weekDailyTasks[i], VPos.TOP);
-        }//////////////////////////////////////////////////////////////////////
-        return gp;
+        weekView.showWeek(scheduleObj, currentSelectionDateWeek);
+        return weekView;
     }
     public HBox bpWeekBottomSectionInitializer(){
         HBox hbox = new HBox();
@@ -789,52 +722,16 @@ public class Main extends Application {
         previous.setPrefSize(100, 20);
         previous.setOnAction(e -> {
             System.out.println("previous week");
-            String taskString = "";
-            for(int i = 0; i < 14; i++)
-                currentSelectionDateWeek = currentSelectionDateWeek.getPreviousDay();
-            for(int i = 0; i < 7; i++) {
-                // Weekday Task
-                Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateWeek);
-                taskString = "\n\n" + "Date: " + currentSelectionDateWeek.toString() + "\n";
-
-                if (dailyTasks != null && dailyTasks.size() > 0) {
-                    for (Task task : dailyTasks) {
-                        taskString += "Task Name: " + task.getTaskName() + "\n"; // task name
-                        taskString += "Task Category: " + task.getCategory() + "\n"; // task category
-                        taskString += "Task time: ";
-                        for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateWeek))
-                            taskString +=(timeframe) + "\n"; // task time frame
-                    }
-                } else
-                    taskString += "\nNo tasks today!";      //no task
-                currentSelectionDateWeek = currentSelectionDateWeek.getNextDay();
-                weekDailyTasks[i].setText(taskString);
-            }
+            currentSelectionDateWeek = currentSelectionDateWeek.plusDays(-7);
+            weekView.showWeek(scheduleObj, currentSelectionDateWeek);
         });
 
         Button next = new Button("Next");
         next.setPrefSize(100, 20);
         next.setOnAction(e -> {
             System.out.println("next week");
-            String taskString = "";
-            for(int i = 0; i < 7; i++) {
-                // Weekday Task
-                Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateWeek);
-                taskString = "\n\n" + "Date: " + currentSelectionDateWeek.toString() + "\n";
-
-                if (dailyTasks != null && dailyTasks.size() > 0) {
-                    for (Task task : dailyTasks) {
-                        taskString += "Task Name: " + task.getTaskName() + "\n"; // task name
-                        taskString += "Task Category: " + task.getCategory() + "\n"; // task category
-                        taskString += "Task time: ";
-                        for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateWeek))
-                            taskString +=(timeframe) + "\n"; // task time frame
-                    }
-                } else
-                    taskString += "\nNo tasks today!";      //no task
-                currentSelectionDateWeek = currentSelectionDateWeek.getNextDay();
-                weekDailyTasks[i].setText(taskString);
-            }
+            currentSelectionDateWeek = currentSelectionDateWeek.plusDays(7);
+            weekView.showWeek(scheduleObj, currentSelectionDateWeek);
         });
 
         hbox.setAlignment(Pos.CENTER);
@@ -844,51 +741,8 @@ public class Main extends Application {
 
     public GridPane bpMonthNestedMidSectionInitializer(){
         currentSelectionDateMonth = new Date(today.getMonthValue(), 1, today.getYear());
-        GridPane gp = new GridPane();
-        gp.setVgap(5);
-        gp.setHgap(5);
-        gp.setGridLinesVisible(true);
-        for (int i = 0; i < 7; i++)
-            gp.getColumnConstraints().add(new ColumnConstraints(200));      // column 0 ~ 6 is 200 wide
-        gp.getRowConstraints().add(new RowConstraints(25));                 // row 0 is 25 wide
-        gp.getRowConstraints().add(new RowConstraints(3000));               // row 1 is 3000 wide
-
-        int maxDay = currentSelectionDateMonth.getMaxDay(currentSelectionDateMonth.getMonth(), currentSelectionDateMonth.getYear());
-
-        // Weekday set of Task display
-        String[] taskString = new String[7];
-        for(int i = 0; i < 7; i++)
-            taskString[i] = "";
-
-        for(int i = 0; i < maxDay; i++) {
-            Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateMonth);
-            taskString[i%7] += "\n\n\n" + "Date: " + currentSelectionDateMonth.toString() + "\n";
-
-            if (dailyTasks != null && dailyTasks.size() > 0) {
-                for (Task task : dailyTasks) {
-                    taskString[i%7] += "Task Name: " + task.getTaskName() + "\n";       // task name
-                    taskString[i%7] += "Task Category: " + task.getCategory() + "\n";   // task category
-                    taskString[i%7] += "Task time: ";
-                    for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateMonth))
-                        taskString[i%7] +=(timeframe) + "\n";                           // task time frame
-                }
-            } else
-                taskString[i%7] += "No tasks today!";                                   //no task
-            currentSelectionDateMonth = currentSelectionDateMonth.getNextDay();
-        }
-
-        // display the string containing the set of tasks to the Grid Pane
-        for (int i = 0; i < 7; i++){
-            if (taskString[i] == null)
-                continue;
-            Label lb1 = new Label();
-            lb1.setText(taskString[i] + "\n");
-            monthDailyTasks[i] = lb1;
-            gp.add(monthDailyTasks[i], i%7, 1);
-            gp.setHalignment(monthDailyTasks[i], HPos.CENTER);
-            gp.setValignment(monthDailyTasks[i], VPos.TOP);
-        }
-        return gp;
+        monthView.showMonth(scheduleObj, currentSelectionDateMonth);
+        return monthView;
     }
     public HBox bpMonthBottomSectionInitializer(){
         HBox hbox = new HBox();
@@ -900,69 +754,16 @@ public class Main extends Application {
         previous.setPrefSize(100, 20);
         previous.setOnAction(e -> {
             System.out.println("previous month");
-            if ((currentSelectionDateMonth.getMonth() - 2) == 0)
-                currentSelectionDateMonth = new Date(12,Date.getMaxDay(12,currentSelectionDateMonth.getYear() - 1), currentSelectionDateMonth.getYear() - 1);
-            else if ((currentSelectionDateMonth.getMonth() - 2) <= -1)
-                currentSelectionDateMonth = new Date(11,Date.getMaxDay(11,currentSelectionDateMonth.getYear() - 1), currentSelectionDateMonth.getYear() - 1);
-            else
-                currentSelectionDateMonth.setMonth(currentSelectionDateMonth.getMonth() - 2);
-
-            currentSelectionDateMonth.setDay(1);
-            int maxDay = currentSelectionDateMonth.getMaxDay(currentSelectionDateMonth.getMonth(), currentSelectionDateMonth.getYear());
-
-            // Weekday Task
-            String[] taskString = new String[7];
-            for(int i = 0; i < 7; i++)
-                taskString[i] = "";
-            for(int i = 0; i < maxDay; i++) {
-                // Weekday Task
-                Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateMonth);
-                taskString[i%7] += "\n\n\n" + "Date: " + currentSelectionDateMonth.toString() + "\n";
-
-                if (dailyTasks != null && dailyTasks.size() > 0) {
-                    for (Task task : dailyTasks) {
-                        taskString[i%7] += "Task Name: " + task.getTaskName() + "\n"; // task name
-                        taskString[i%7] += "Task Category: " + task.getCategory() + "\n"; // task category
-                        taskString[i%7] += "Task time: ";
-                        for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateMonth))
-                            taskString[i%7] +=(timeframe) + "\n"; // task time frame
-                    }
-                } else
-                    taskString[i%7] += "No tasks today!";      //no task
-                currentSelectionDateMonth = currentSelectionDateMonth.getNextDay();
-            }
-            for (int i = 0; i < 7; i++)
-                monthDailyTasks[i].setText(taskString[i]);
+            currentSelectionDateMonth = currentSelectionDateMonth.plusMonths(-1);
+            monthView.showMonth(scheduleObj, currentSelectionDateMonth);
         });
 
         Button next = new Button("Next");
         next.setPrefSize(100, 20);
         next.setOnAction(e -> {
             System.out.println("next month");
-            int maxDay = currentSelectionDateMonth.getMaxDay(currentSelectionDateMonth.getMonth(), currentSelectionDateMonth.getYear());
-            String[] taskString = new String[7];
-            for(int i = 0; i < 7; i++)
-                taskString[i] = "";
-
-            // Weekday Task
-            for(int i = 0; i < maxDay; i++) {
-                Set<Task> dailyTasks = scheduleObj.getDailyTasks(currentSelectionDateMonth);
-                taskString[i%7] += "\n\n\n" + "Date: " + currentSelectionDateMonth.toString() + "\n";
-
-                if (dailyTasks != null && dailyTasks.size() > 0) {
-                    for (Task task : dailyTasks) {
-                        taskString[i%7] += "Task Name: " + task.getTaskName() + "\n"; // task name
-                        taskString[i%7] += "Task Category: " + task.getCategory() + "\n"; // task category
-                        taskString[i%7] += "Task time: ";
-                        for (Timeframe timeframe : task.getDailyTimeframes(currentSelectionDateMonth))
-                            taskString[i%7] +=(timeframe) + "\n"; // task time frame
-                    }
-                } else
-                    taskString[i%7] += "No tasks today!";      //no task
-                currentSelectionDateMonth = currentSelectionDateMonth.getNextDay();
-            }
-            for (int i = 0; i < 7; i++)
-                monthDailyTasks[i].setText(taskString[i]);
+            currentSelectionDateMonth = currentSelectionDateMonth.plusMonths(1);
+            monthView.showMonth(scheduleObj, currentSelectionDateMonth);
         });
 
         hbox.setAlignment(Pos.CENTER);
@@ -970,6 +771,13 @@ public class Main extends Application {
         return hbox;
     }
 
+    @Override
+    public void stop() throws Exception{
+        worker.shutdown();
+        if(journal != null)
+            journal.close();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,224 @@
+/**
+ * Oscar Bedolla
+ * Charles Bickham - UI Team
+ * Natalie Dinh - UI Team
+ * Markus Hernandez - Coding Team (Head Honcho)
+ * Christopher Leung - JSON Team
+ * Arturo Pan Loo - UI Team
+ * Adam VanRiper - JSON Team
+ */
+
+package ui;
+
+import core.ExportJson;
+import core.ImportJson;
+import core.Schedule;
+import core.ScheduleJournal;
+
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs slow schedule work (reading, merging and writing files, and building agendas)
+ * on background threads so the window keeps responding.
+ * Every task reports its result through its event handlers, which JavaFX runs on the application thread.
+ */
+public class ScheduleWorker {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "schedule-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Gets the executor background tasks are run on.
+     * @return The executor.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Reads a JSON file and merges its tasks into the journal's schedule in the background,
+     * showing the progress in a window that can cancel the import until the merge starts.
+     * @param file The JSON file to import.
+     * @param journal The journal to merge the imported tasks into.
+     * @param owner The window the progress window belongs to.
+     * @param onImported Called on the application thread with the merged schedule.
+     */
+    public void importing(File file, ScheduleJournal journal, Window owner, Consumer<Schedule> onImported) {
+        FileTask<Schedule> task = new FileTask<>() {
+            @Override
+            protected Schedule call() throws IOException {
+                updateMessage("Reading " + file.getName());
+                Schedule imported = new Schedule();
+                try (Reader source = reader(file)) {
+                    ImportJson.importing(source, imported);
+                }
+                // Merging cannot be undone halfway, so it is the last chance to cancel.
+                if (isCancelled())
+                    return null;
+                updateMessage("Merging " + file.getName());
+                updateProgress(-1, 1);
+                return journal.merge(imported);
+            }
+        };
+        task.setOnSucceeded(e -> onImported.accept(task.getValue()));
+        run(task, owner, "Import");
+    }
+
+    /**
+     * Writes a schedule to a JSON file in the background, showing the progress in a window that can cancel it.
+     * The file is only replaced once the whole schedule is written.
+     * @param schedule The schedule to export, which must not be changed while it is written.
+     * @param file The JSON file to write.
+     * @param owner The window the progress window belongs to.
+     */
+    public void exporting(Schedule schedule, File file, Window owner) {
+        FileTask<Void> task = new FileTask<>() {
+            @Override
+            protected Void call() throws IOException {
+                updateMessage("Writing " + file.getName());
+                updateProgress(-1, 1);
+                File temporaryFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+                try {
+                    try (Writer destination = writer(temporaryFile)) {
+                        ExportJson.export(schedule, destination, true);
+                    }
+                    Files.move(temporaryFile.toPath(), file.toPath(),
+                               StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    temporaryFile.delete();
+                }
+                return null;
+            }
+        };
+        run(task, owner, "Save");
+    }
+
+    /**
+     * Stops accepting new tasks. Tasks already started are left to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(Task<?> task, Window owner, String title) {
+        Label message = new Label();
+        message.textProperty().bind(task.messageProperty());
+        ProgressBar progress = new ProgressBar();
+        progress.setPrefWidth(300);
+        progress.progressProperty().bind(task.progressProperty());
+        Button cancel = new Button("Cancel");
+        cancel.setOnAction(e -> task.cancel());
+
+        VBox vbox = new VBox(message, progress, cancel);
+        vbox.setPadding(new Insets(15, 12, 15, 12));
+        vbox.setSpacing(10);
+        vbox.setAlignment(Pos.CENTER);
+        Stage stage = new Stage();
+        stage.initOwner(owner);
+        stage.setTitle(title);
+        stage.setScene(new Scene(vbox));
+        stage.setOnCloseRequest(e -> task.cancel());
+
+        task.runningProperty().addListener((observable, wasRunning, running) -> {
+            if (!running)
+                stage.close();
+        });
+        task.setOnFailed(e -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setHeaderText(task.getException().getMessage());
+            alert.showAndWait();
+        });
+        stage.show();
+        executor.execute(task);
+    }
+
+    /**
+     * A task reading or writing a file, which stops with an exception as soon as it is cancelled.
+     */
+    private abstract static class FileTask<V> extends Task<V> {
+
+        /**
+         * Opens a file for reading, reporting the share of the file read as the progress of this task.
+         * @param file The file to read.
+         * @return A buffered reader of the file.
+         * @throws IOException If the file cannot be opened.
+         */
+        Reader reader(File file) throws IOException {
+            long fileSize = Math.max(file.length(), 1);
+            return new BufferedReader(new FilterReader(new FileReader(file)) {
+                private long charactersRead;
+
+                @Override
+                public int read() throws IOException {
+                    char[] character = new char[1];
+                    return read(character, 0, 1) == -1 ? -1 : character[0];
+                }
+
+                @Override
+                public int read(char[] buffer, int offset, int length) throws IOException {
+                    checkCancelled();
+                    int count = super.read(buffer, offset, length);
+                    if (count > 0) {
+                        charactersRead += count;
+                        updateProgress(Math.min(charactersRead, fileSize), fileSize);
+                    }
+                    return count;
+                }
+            });
+        }
+
+        /**
+         * Opens a file for writing.
+         * @param file The file to write.
+         * @return A buffered writer of the file.
+         * @throws IOException If the file cannot be opened.
+         */
+        Writer writer(File file) throws IOException {
+            return new BufferedWriter(new FilterWriter(new FileWriter(file)) {
+                @Override
+                public void write(int character) throws IOException {
+                    checkCancelled();
+                    super.write(character);
+                }
+
+                @Override
+                public void write(char[] buffer, int offset, int length) throws IOException {
+                    checkCancelled();
+                    super.write(buffer, offset, length);
+                }
+
+                @Override
+                public void write(String string, int offset, int length) throws IOException {
+                    checkCancelled();
+                    super.write(string, offset, length);
+                }
+            });
+        }
+
+        private void checkCancelled() throws InterruptedIOException {
+            if (isCancelled())
+                throw new InterruptedIOException("Cancelled");
+        }
+    }
+}